@@ -1,9 +1,11 @@
 import org.gradle.api.tasks.GradleBuild
+import org.springframework.boot.gradle.tasks.run.BootRun
 
 plugins {
 	java
 	id("org.springframework.boot") version "3.5.5"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "CalenderApp"
@@ -29,6 +31,8 @@ dependencies {
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-api:2.6.0")
 
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("org.flywaydb:flyway-core")
+    runtimeOnly("org.flywaydb:flyway-database-postgresql")
     runtimeOnly("com.h2database:h2")
 	runtimeOnly("org.postgresql:postgresql")
 
@@ -38,6 +42,7 @@ dependencies {
 
     implementation("org.springframework.boot:spring-boot-starter-websocket")
     implementation ("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     implementation("org.springframework.boot:spring-boot-starter-security")
 
@@ -71,3 +76,54 @@ tasks.named("bootRun") {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// Microbenchmarks in src/jmh/java: `./gradlew jmh` (narrow with -PjmhIncludes=<regex>).
+// Results go to build/results/jmh/results.json.
+jmh {
+	jmhVersion = "1.37"
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+	timeUnit = "us"
+	benchmarkMode = listOf("avgt")
+	(findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
+}
+
+// Offline load testing (no Redis/Kafka needed):
+//   ./gradlew bootRunLoadTest [-Pvthreads]             backend with the loadtest (+ vthreads) profile on :8080
+//   ./gradlew generateLoadData -Pdatagen.users=1000    fill its database (app.datagen.* in application-datagen.properties)
+//   ./gradlew loadTest -Ploadtest.concurrency=200      drive it; -Ploadtest.<key>=<value> for any LoadTestConfig key
+// Results go to build/results/loadtest/results.json.
+val loadtest: SourceSet by sourceSets.creating
+
+fun propertyArgs(prefix: String, argPrefix: String): List<String> =
+	properties.filterKeys { it.startsWith("$prefix.") }
+		.map { (key, value) -> "--$argPrefix${key.removePrefix("$prefix.")}=$value" }
+
+tasks.register<BootRun>("bootRunLoadTest") {
+	group = "application"
+	description = "Runs the backend with the offline loadtest profile (-Pvthreads adds the vthreads profile)."
+	dependsOn(tasks.named("processResources"))
+	mainClass = "CalenderApp.demo.CalenderAppApplication"
+	classpath = sourceSets.main.get().runtimeClasspath
+	args("--spring.profiles.active=" + if (hasProperty("vthreads")) "loadtest,vthreads" else "loadtest")
+}
+
+tasks.register<BootRun>("generateLoadData") {
+	group = "application"
+	description = "Generates load-test users and data into the loadtest database, then exits."
+	dependsOn(tasks.named("processResources"))
+	mainClass = "CalenderApp.demo.CalenderAppApplication"
+	classpath = sourceSets.main.get().runtimeClasspath
+	args(listOf("--spring.profiles.active=loadtest,datagen") + propertyArgs("datagen", "app.datagen."))
+}
+
+tasks.register<JavaExec>("loadTest") {
+	group = "verification"
+	description = "Runs the HTTP load test against a running backend."
+	mainClass = "CalenderApp.loadtest.LoadTest"
+	classpath = loadtest.runtimeClasspath
+	args(propertyArgs("loadtest", ""))
+}
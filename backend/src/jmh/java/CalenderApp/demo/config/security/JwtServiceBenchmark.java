@@ -0,0 +1,33 @@
+package CalenderApp.demo.config.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/** Token parse + HMAC verify runs on every authenticated request; generation on every login. */
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService("benchmark-secret-that-is-at-least-32-characters-long", 3600);
+        token = jwtService.generateToken("bench-user", List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public Claims parseAndVerify() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken("bench-user", List.of("ROLE_USER"));
+    }
+}
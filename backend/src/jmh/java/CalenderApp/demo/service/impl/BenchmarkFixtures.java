@@ -0,0 +1,88 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.model.CalendarItem;
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.FixedCostFrequency;
+import CalenderApp.demo.model.FixedCostSubscription;
+import CalenderApp.demo.model.ImportanceLevel;
+import CalenderApp.demo.service.view.CalendarItemListView;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Deterministic inputs shaped like real user data, shared by the benchmarks. */
+final class BenchmarkFixtures {
+
+    private static final CalendarItemType[] TYPES = {
+            CalendarItemType.JOB, CalendarItemType.SCHOOL, CalendarItemType.WORKOUT, CalendarItemType.JOB,
+            CalendarItemType.MAIN_MEAL, CalendarItemType.FIXED_COST, CalendarItemType.OTHER
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    /** A month of mostly timed job/school items, some workouts and fixed costs, every fourth with a log. */
+    static List<CalendarItem> month(AppUser user, YearMonth month, int count) {
+        List<CalendarItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate date = month.atDay(1 + i % month.lengthOfMonth());
+            CalendarItemType type = TYPES[i % TYPES.length];
+            CalendarItem item = new CalendarItem(user, date, type, type.name().toLowerCase() + " item " + i);
+            item.setStartTime(LocalTime.of(8 + i % 10, 0));
+            item.setEndTime(LocalTime.of(9 + i % 10, 30));
+            item.setImportance(ImportanceLevel.values()[i % ImportanceLevel.values().length]);
+            item.setDone(i % 3 == 0);
+            if (type == CalendarItemType.FIXED_COST) {
+                item.setAmount(BigDecimal.valueOf(19900 + i, 2));
+            }
+            if (i % 4 == 0) {
+                item.setLog("Notes for item " + i + ": " + "lorem ipsum dolor sit amet ".repeat(4));
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    /** The same month as the month cache stores it. */
+    static List<CalendarItemListView> listViews(AppUser user, YearMonth month, int count) {
+        List<CalendarItem> items = month(user, month, count);
+        List<CalendarItemListView> views = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CalendarItem item = items.get(i);
+            views.add(new CalendarItemListView(
+                    (long) i + 1,
+                    item.getDate(),
+                    item.getStartTime(),
+                    item.getEndTime(),
+                    item.getType(),
+                    item.getImportance(),
+                    item.getTitle(),
+                    item.isDone(),
+                    item.getAmount(),
+                    item.getSchoolKind(),
+                    item.getType() == CalendarItemType.FIXED_COST ? FixedCostFrequency.MONTHLY : null,
+                    item.getLog() != null
+            ));
+        }
+        return views;
+    }
+
+    /** Subscriptions cycling through monthly (incl. day 31), weekly and yearly frequencies. */
+    static List<FixedCostSubscription> subscriptions(AppUser user, int count) {
+        List<FixedCostSubscription> subs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BigDecimal amount = BigDecimal.valueOf(999 + i * 100L, 2);
+            subs.add(switch (i % 3) {
+                case 0 -> new FixedCostSubscription(user, "Monthly " + i, amount, FixedCostFrequency.MONTHLY, 1 + (i * 7) % 31, null, null);
+                case 1 -> new FixedCostSubscription(user, "Weekly " + i, amount, FixedCostFrequency.WEEKLY, 1, 1 + i % 7, null);
+                default -> new FixedCostSubscription(user, "Yearly " + i, amount, FixedCostFrequency.YEARLY, 15, null, 1 + i % 12);
+            });
+        }
+        return subs;
+    }
+}
@@ -0,0 +1,38 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.model.CalendarItem;
+import CalenderApp.demo.service.view.CalendarItemView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Entity to {@link CalendarItemView} mapping, as done for day lists and every write response. */
+@State(Scope.Benchmark)
+public class CalendarViewBenchmark {
+
+    @Param({"10", "60", "200"})
+    int itemsPerMonth;
+
+    private List<CalendarItem> items;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkFixtures.month(new AppUser("bench", "x"), YearMonth.of(2025, 3), itemsPerMonth);
+    }
+
+    @Benchmark
+    public List<CalendarItemView> toViews() {
+        List<CalendarItemView> views = new ArrayList<>(items.size());
+        for (CalendarItem item : items) {
+            views.add(CalendarServiceImpl.toView(item));
+        }
+        return views;
+    }
+}
@@ -0,0 +1,45 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.model.CalendarItem;
+import CalenderApp.demo.model.FixedCostSubscription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Fixed-cost recurrence expansion for N subscriptions, as run by month (1) and range/year (12) reads. */
+@State(Scope.Benchmark)
+public class FixedCostRecurrenceBenchmark {
+
+    @Param({"1", "10", "100"})
+    int subscriptions;
+
+    @Param({"1", "12"})
+    int months;
+
+    private final AppUser user = new AppUser("bench", "x");
+    private List<FixedCostSubscription> subs;
+    private List<YearMonth> span;
+
+    @Setup
+    public void setUp() {
+        subs = BenchmarkFixtures.subscriptions(user, subscriptions);
+        span = new ArrayList<>(months);
+        for (int m = 0; m < months; m++) {
+            span.add(YearMonth.of(2025, 1).plusMonths(m));
+        }
+    }
+
+    @Benchmark
+    public List<CalendarItem> expand() {
+        List<CalendarItem> out = new ArrayList<>();
+        CalendarServiceImpl.expandFixedCosts(user, subs, span, out);
+        return out;
+    }
+}
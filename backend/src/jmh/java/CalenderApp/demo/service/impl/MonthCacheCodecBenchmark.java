@@ -0,0 +1,41 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.model.AppUser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.YearMonth;
+
+/** JSON codec of month cache entries: encode on every fill, decode on every hit. */
+@State(Scope.Benchmark)
+public class MonthCacheCodecBenchmark {
+
+    @Param({"10", "60", "200"})
+    int itemsPerMonth;
+
+    private RedisCalendarMonthCache.CachedMonth entry;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        entry = new RedisCalendarMonthCache.CachedMonth(
+                BenchmarkFixtures.listViews(new AppUser("bench", "x"), YearMonth.of(2025, 3), itemsPerMonth),
+                12,
+                System.currentTimeMillis() + 600_000);
+        json = RedisCalendarMonthCache.encode(entry);
+    }
+
+    @Benchmark
+    public String encode() throws JsonProcessingException {
+        return RedisCalendarMonthCache.encode(entry);
+    }
+
+    @Benchmark
+    public RedisCalendarMonthCache.CachedMonth decode() throws JsonProcessingException {
+        return RedisCalendarMonthCache.decode(json);
+    }
+}
@@ -0,0 +1,50 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.model.CalendarItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Holiday computation, recomputed for every month read that materializes holidays. */
+@State(Scope.Benchmark)
+public class NorwayHolidaysBenchmark {
+
+    private final AppUser user = new AppUser("bench", "x");
+    private List<YearMonth> year;
+    private int nextYear;
+
+    @Setup
+    public void setUp() {
+        year = new ArrayList<>(12);
+        for (int m = 1; m <= 12; m++) {
+            year.add(YearMonth.of(2025, m));
+        }
+    }
+
+    @Benchmark
+    public LocalDate easterSunday() {
+        // Cycle the year so the result cannot be constant-folded.
+        nextYear = nextYear == 2100 ? 1900 : nextYear + 1;
+        return NorwayHolidays.easterSunday(nextYear);
+    }
+
+    @Benchmark
+    public List<NorwayHolidays.Holiday> forYear() {
+        return NorwayHolidays.forYear(2025);
+    }
+
+    /** Holiday items for a whole year, as the year overview materializes them. */
+    @Benchmark
+    public List<CalendarItem> holidayItemsForYear() {
+        List<CalendarItem> out = new ArrayList<>();
+        CalendarServiceImpl.norwayHolidays(user, year, out);
+        return out;
+    }
+}
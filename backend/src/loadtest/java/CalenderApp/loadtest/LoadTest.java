@@ -0,0 +1,312 @@
+package CalenderApp.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP load driver: {@code concurrency} virtual users, one virtual thread each, log in and then loop over a
+ * weighted mix of month views, unread notifications, item creates/updates and re-logins against a running backend.
+ * Latencies are recorded per operation after the warmup and reported as p50/p90/p99/max plus throughput, on stdout
+ * and as JSON.
+ * <p>
+ * This is a closed model (each virtual user waits for its response), so a slow server also lowers the offered
+ * load; compare throughput alongside the percentiles. Run via {@code ./gradlew loadTest}, see build.gradle.kts.
+ */
+public final class LoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final int MAX_OWN_ITEMS = 20;
+
+    private final LoadTestConfig config;
+    private final HttpClient http;
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final List<Operation> weighted = new ArrayList<>();
+
+    private volatile boolean recording;
+    private volatile boolean stopping;
+
+    private LoadTest(LoadTestConfig config, HttpClient http) {
+        this.config = config;
+        this.http = http;
+        for (Operation op : Operation.values()) {
+            latencies.put(op, new LatencyHistogram());
+            errors.put(op, new LongAdder());
+        }
+        config.mix().forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(op);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        try (ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(virtualUsers)
+                     .build()) {
+            new LoadTest(config, http).run(virtualUsers);
+        }
+    }
+
+    private void run(ExecutorService virtualUsers) throws Exception {
+        System.out.printf("Load test: %d virtual users over %d users, %ds warmup + %ds against %s%n",
+                config.concurrency(), config.users(), config.warmup().toSeconds(), config.duration().toSeconds(), config.baseUrl());
+
+        for (int vu = 0; vu < config.concurrency(); vu++) {
+            int n = vu % config.users() + 1;
+            virtualUsers.submit(() -> virtualUser(config.username(n)));
+        }
+
+        Thread.sleep(config.warmup().toMillis());
+        recording = true;
+        long started = System.nanoTime();
+        Thread.sleep(config.duration().toMillis());
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        stopping = true;
+
+        report(elapsedSeconds);
+    }
+
+    private void virtualUser(String username) {
+        VirtualUserState state = new VirtualUserState(username);
+        try {
+            state.token = login(username);
+            while (!stopping) {
+                Operation op = weighted.get(ThreadLocalRandom.current().nextInt(weighted.size()));
+                step(state, op);
+                if (!config.thinkTime().isZero()) {
+                    Thread.sleep(config.thinkTime().toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("Virtual user " + username + " stopped: " + e);
+        }
+    }
+
+    private void step(VirtualUserState state, Operation op) {
+        switch (op) {
+            case LOGIN -> state.token = login(state.username);
+            case MONTH -> month(state);
+            case NOTIFICATIONS -> send(Operation.NOTIFICATIONS, state, get(state, "/api/notifications/unread"));
+            case CREATE -> create(state);
+            case UPDATE -> update(state);
+        }
+    }
+
+    private String login(String username) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + config.password() + "\"}";
+        HttpResponse<String> response = send(Operation.LOGIN, null, json(HttpRequest.newBuilder(uri("/api/auth/login"))).POST(HttpRequest.BodyPublishers.ofString(body)));
+        Matcher m = response != null ? TOKEN.matcher(response.body()) : null;
+        if (m == null || !m.find()) {
+            throw new IllegalStateException("Login failed for " + username + (response != null ? " (" + response.statusCode() + ")" : ""));
+        }
+        return m.group(1);
+    }
+
+    private void month(VirtualUserState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        YearMonth ym = YearMonth.now().plusMonths(random.nextInt(-config.monthsAround(), config.monthsAround() + 1));
+        HttpRequest.Builder request = get(state, "/api/calendar/month?year=" + ym.getYear() + "&month=" + ym.getMonthValue());
+        // Like the polling frontend: revalidate a month already seen, so most repeats are 304s.
+        String etag = state.etags.get(ym);
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        HttpResponse<String> response = send(Operation.MONTH, state, request);
+        if (response != null) {
+            response.headers().firstValue("ETag").ifPresent(value -> state.etags.put(ym, value));
+        }
+    }
+
+    private void create(VirtualUserState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate date = LocalDate.now().plusDays(random.nextInt(-30, 31));
+        int hour = 8 + random.nextInt(10);
+        String body = String.format(Locale.ROOT,
+                "{\"date\":\"%s\",\"startTime\":\"%02d:00\",\"endTime\":\"%02d:30\",\"type\":\"OTHER\",\"importance\":\"MEDIUM\",\"title\":\"Load test %d\"}",
+                date, hour, hour, random.nextInt(1_000_000));
+        HttpResponse<String> response = send(Operation.CREATE, state, json(authorized(state, "/api/calendar/items")).POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response != null) {
+            Matcher m = ID.matcher(response.body());
+            if (m.find()) {
+                state.ownItems.addLast(new OwnItem(Long.parseLong(m.group(1)), date, hour));
+                if (state.ownItems.size() > MAX_OWN_ITEMS) {
+                    state.ownItems.removeFirst();
+                }
+            }
+        }
+    }
+
+    private void update(VirtualUserState state) {
+        OwnItem item = state.ownItems.peekLast();
+        if (item == null) {
+            create(state);
+            return;
+        }
+        String body = String.format(Locale.ROOT,
+                "{\"date\":\"%s\",\"startTime\":\"%02d:00\",\"endTime\":\"%02d:45\",\"type\":\"OTHER\",\"importance\":\"HIGH\",\"title\":\"Load test updated\",\"done\":%b}",
+                item.date(), item.hour(), item.hour(), ThreadLocalRandom.current().nextBoolean());
+        send(Operation.UPDATE, state, json(authorized(state, "/api/calendar/items/" + item.id())).PUT(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    /** Sends and records; returns the response on 2xx/304, null otherwise. Re-logs in on 401. */
+    private HttpResponse<String> send(Operation op, VirtualUserState state, HttpRequest.Builder request) {
+        long started = System.nanoTime();
+        HttpResponse<String> response = null;
+        String status;
+        try {
+            response = http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+            status = String.valueOf(response.statusCode());
+        } catch (IOException e) {
+            status = e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        long micros = (System.nanoTime() - started) / 1_000;
+        boolean ok = response != null && (response.statusCode() / 100 == 2 || response.statusCode() == 304);
+        if (recording) {
+            latencies.get(op).record(micros);
+            statuses.computeIfAbsent(op + " " + status, k -> new LongAdder()).increment();
+            if (!ok) {
+                errors.get(op).increment();
+            }
+        }
+        if (response != null && response.statusCode() == 401 && state != null) {
+            state.token = login(state.username);
+        }
+        return ok ? response : null;
+    }
+
+    private HttpRequest.Builder get(VirtualUserState state, String path) {
+        return authorized(state, path).GET();
+    }
+
+    private HttpRequest.Builder authorized(VirtualUserState state, String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + state.token);
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder request) {
+        return request.header("Content-Type", "application/json");
+    }
+
+    private URI uri(String path) {
+        return config.baseUrl().resolve(path);
+    }
+
+    private void report(double elapsedSeconds) throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"durationSeconds\": ").append(fmt(elapsedSeconds))
+                .append(",\n  \"concurrency\": ").append(config.concurrency())
+                .append(",\n  \"operations\": {");
+
+        System.out.printf("%n%-14s %9s %8s %10s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        boolean first = true;
+        for (Operation op : Operation.values()) {
+            LatencyHistogram h = latencies.get(op);
+            long count = h.count();
+            if (count == 0) {
+                continue;
+            }
+            totalRequests += count;
+            long errorCount = errors.get(op).sum();
+            double throughput = count / elapsedSeconds;
+            System.out.printf(Locale.ROOT, "%-14s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    op.name().toLowerCase(Locale.ROOT), count, errorCount, throughput,
+                    ms(h.percentileMicros(0.50)), ms(h.percentileMicros(0.90)), ms(h.percentileMicros(0.99)), ms(h.maxMicros()));
+
+            json.append(first ? "\n" : ",\n").append("    \"").append(op.name().toLowerCase(Locale.ROOT)).append("\": {")
+                    .append("\"requests\": ").append(count)
+                    .append(", \"errors\": ").append(errorCount)
+                    .append(", \"throughputPerSecond\": ").append(fmt(throughput))
+                    .append(", \"meanMs\": ").append(fmt(h.meanMicros() / 1000.0))
+                    .append(", \"p50Ms\": ").append(fmt(ms(h.percentileMicros(0.50))))
+                    .append(", \"p90Ms\": ").append(fmt(ms(h.percentileMicros(0.90))))
+                    .append(", \"p99Ms\": ").append(fmt(ms(h.percentileMicros(0.99))))
+                    .append(", \"maxMs\": ").append(fmt(ms(h.maxMicros())))
+                    .append('}');
+            first = false;
+        }
+        double totalThroughput = totalRequests / elapsedSeconds;
+        System.out.printf(Locale.ROOT, "%-14s %9d %8s %10.1f%n", "total", totalRequests, "", totalThroughput);
+
+        Map<String, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((key, adder) -> statusCounts.put(key, adder.sum()));
+        System.out.println("Status codes: " + statusCounts);
+
+        json.append("\n  },\n  \"throughputPerSecond\": ").append(fmt(totalThroughput))
+                .append(",\n  \"statuses\": {");
+        first = true;
+        for (Map.Entry<String, Long> e : statusCounts.entrySet()) {
+            json.append(first ? "" : ", ").append('"').append(e.getKey()).append("\": ").append(e.getValue());
+            first = false;
+        }
+        json.append("}\n}\n");
+
+        Optional.ofNullable(config.out().toAbsolutePath().getParent()).ifPresent(dir -> {
+            try {
+                Files.createDirectories(dir);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Files.writeString(config.out(), json);
+        System.out.println("Results written to " + config.out().toAbsolutePath());
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String fmt(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private record OwnItem(long id, LocalDate date, int hour) {
+    }
+
+    /** Per virtual user; only touched by its own thread. */
+    private static final class VirtualUserState {
+        final String username;
+        final Map<YearMonth, String> etags = new HashMap<>();
+        final ArrayDeque<OwnItem> ownItems = new ArrayDeque<>();
+        String token;
+
+        VirtualUserState(String username) {
+            this.username = username;
+        }
+    }
+}
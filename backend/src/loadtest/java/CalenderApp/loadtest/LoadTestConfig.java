@@ -0,0 +1,74 @@
+package CalenderApp.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings from {@code --key=value} arguments. Users are the ones written by the backend's datagen profile
+ * ({@code <usernamePrefix><n>} for n in 1..users, all with {@code password}).
+ */
+record LoadTestConfig(
+        URI baseUrl,
+        int users,
+        String usernamePrefix,
+        String password,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        int monthsAround,
+        Map<Operation, Integer> mix,
+        Path out
+) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestConfig(
+                URI.create(values.getOrDefault("baseUrl", "http://localhost:8080")),
+                Integer.parseInt(values.getOrDefault("users", "100")),
+                values.getOrDefault("usernamePrefix", "load-"),
+                values.getOrDefault("password", "loadtest-password"),
+                Integer.parseInt(values.getOrDefault("concurrency", "50")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmupSeconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("durationSeconds", "60"))),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("thinkMs", "0"))),
+                Integer.parseInt(values.getOrDefault("monthsAround", "6")),
+                parseMix(values.getOrDefault("mix", "month:50,notifications:20,create:12,update:13,login:5")),
+                Path.of(values.getOrDefault("out", "build/results/loadtest/results.json"))
+        );
+    }
+
+    String username(int n) {
+        return String.format("%s%05d", usernamePrefix, n);
+    }
+
+    // e.g. "month:50,notifications:20,create:12,update:13,login:5"; weights are relative.
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry: " + part);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(kv[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix must contain at least one operation");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,15 @@
+package CalenderApp.loadtest;
+
+/** Scenario steps; each is reported separately. */
+enum Operation {
+    /** POST /api/auth/login (BCrypt check + token). */
+    LOGIN,
+    /** GET /api/calendar/month, revalidating with the last ETag when the month was seen before. */
+    MONTH,
+    /** GET /api/notifications/unread. */
+    NOTIFICATIONS,
+    /** POST /api/calendar/items. */
+    CREATE,
+    /** PUT /api/calendar/items/{id} on an item this virtual user created. */
+    UPDATE
+}
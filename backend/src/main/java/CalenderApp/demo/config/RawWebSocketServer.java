@@ -1,6 +1,8 @@
 package CalenderApp.demo.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.web.socket.WebSocketSession;
@@ -21,6 +23,11 @@ public class RawWebSocketServer implements WebSocketConfigurer {
     private static final Set<WebSocketSession> sessions = new CopyOnWriteArraySet<>();
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    // Static API, so the meters go to the global registry; Spring Boot adds its registry to it.
+    static {
+        Metrics.gauge("websocket.sessions", sessions, Set::size);
+    }
+
     @Override
     public void registerWebSocketHandlers(@NonNull WebSocketHandlerRegistry registry) {
         registry.addHandler(new SimpleTextHandler(), "/rawws").setAllowedOrigins("*");
@@ -28,11 +35,15 @@ public class RawWebSocketServer implements WebSocketConfigurer {
 
     public static void broadcast(@NonNull String message) {
         String safeMessage = Objects.requireNonNull(message, "message");
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
         for (WebSocketSession session : sessions) {
             try {
                 session.sendMessage(new org.springframework.web.socket.TextMessage(safeMessage));
-            } catch (Exception ignored) { }
+            } catch (Exception ignored) {
+                Metrics.counter("websocket.send.errors").increment();
+            }
         }
+        sample.stop(Metrics.timer("websocket.broadcast"));
     }
 
     public static void broadcastJson(Object payload) {
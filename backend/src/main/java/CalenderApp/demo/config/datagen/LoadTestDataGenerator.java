@@ -0,0 +1,279 @@
+package CalenderApp.demo.config.datagen;
+
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.Exercise;
+import CalenderApp.demo.model.FixedCostFrequency;
+import CalenderApp.demo.model.ImportanceLevel;
+import CalenderApp.demo.model.Notification;
+import CalenderApp.demo.model.NotificationType;
+import CalenderApp.demo.model.SchoolItemKind;
+import CalenderApp.demo.model.WorkoutTemplate;
+import CalenderApp.demo.repository.AppUserRepository;
+import CalenderApp.demo.repository.NotificationRepository;
+import CalenderApp.demo.service.CalendarService;
+import CalenderApp.demo.service.WorkoutService;
+import CalenderApp.demo.service.command.CreateCalendarItemCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the configured database with {@code app.datagen.users} users named {@code <prefix><n>}, all sharing one
+ * password, each with a year of calendar items around today, fixed-cost and birthday subscriptions, exercises, a
+ * workout template scheduled a few times a week and a notification backlog. Data goes through the same service
+ * paths as the API (bulk create, scheduling), so derived tables such as workout stats are filled too.
+ * <p>
+ * Run with the {@code datagen} profile, e.g. {@code ./gradlew generateLoadData -Pdatagen.users=1000}. Users that
+ * already exist are skipped, so re-running tops the data set up. The generator is seeded per user, so the same
+ * settings produce the same data.
+ */
+@Component
+@Profile("datagen")
+public class LoadTestDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDataGenerator.class);
+
+    private static final String[] EXERCISES = {"Squat", "Bench press", "Deadlift", "Overhead press", "Pull-up", "Barbell row"};
+    private static final String[] FIXED_COSTS = {"Rent", "Electricity", "Phone", "Internet", "Gym", "Streaming", "Insurance", "Loan"};
+    private static final String[] JOB_TITLES = {"Shift", "Standup", "Planning", "Customer call", "Review"};
+    private static final String[] SCHOOL_TITLES = {"Algorithms", "Databases", "Statistics", "Networks"};
+    private static final String[] OTHER_TITLES = {"Dentist", "Haircut", "Dinner with friends", "Groceries", "Laundry"};
+
+    private final AppUserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+    private final CalendarService calendarService;
+    private final WorkoutService workoutService;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    private final int users;
+    private final String usernamePrefix;
+    private final String password;
+    private final int monthsBack;
+    private final int monthsAhead;
+    private final int itemsPerMonth;
+    private final int fixedCosts;
+    private final int birthdays;
+    private final int notifications;
+    private final int threads;
+    private final long seed;
+    private final boolean exitWhenDone;
+
+    public LoadTestDataGenerator(
+            AppUserRepository userRepository,
+            NotificationRepository notificationRepository,
+            CalendarService calendarService,
+            WorkoutService workoutService,
+            PasswordEncoder passwordEncoder,
+            ConfigurableApplicationContext context,
+            @Value("${app.datagen.users:100}") int users,
+            @Value("${app.datagen.usernamePrefix:load-}") String usernamePrefix,
+            @Value("${app.datagen.password:loadtest-password}") String password,
+            @Value("${app.datagen.monthsBack:6}") int monthsBack,
+            @Value("${app.datagen.monthsAhead:6}") int monthsAhead,
+            @Value("${app.datagen.itemsPerMonth:40}") int itemsPerMonth,
+            @Value("${app.datagen.fixedCosts:6}") int fixedCosts,
+            @Value("${app.datagen.birthdays:10}") int birthdays,
+            @Value("${app.datagen.notifications:30}") int notifications,
+            @Value("${app.datagen.threads:4}") int threads,
+            @Value("${app.datagen.seed:42}") long seed,
+            @Value("${app.datagen.exitWhenDone:true}") boolean exitWhenDone
+    ) {
+        this.userRepository = userRepository;
+        this.notificationRepository = notificationRepository;
+        this.calendarService = calendarService;
+        this.workoutService = workoutService;
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+        this.users = users;
+        this.usernamePrefix = usernamePrefix;
+        this.password = password;
+        this.monthsBack = monthsBack;
+        this.monthsAhead = monthsAhead;
+        this.itemsPerMonth = itemsPerMonth;
+        this.fixedCosts = fixedCosts;
+        this.birthdays = birthdays;
+        this.notifications = notifications;
+        this.threads = threads;
+        this.seed = seed;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long started = System.nanoTime();
+        // BCrypt is deliberately slow; hash once and share it, logins still verify against a real hash.
+        String passwordHash = passwordEncoder.encode(password);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads))) {
+            List<Future<?>> tasks = new ArrayList<>(users);
+            for (int n = 1; n <= users; n++) {
+                int index = n;
+                tasks.add(pool.submit(() -> {
+                    if (generateUser(index, passwordHash)) {
+                        int done = created.incrementAndGet();
+                        if (done % 100 == 0) {
+                            log.info("Generated {} users", done);
+                        }
+                    } else {
+                        skipped.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+
+        log.info("Data generation done: {} users created, {} already present, {} ms",
+                created.get(), skipped.get(), (System.nanoTime() - started) / 1_000_000);
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private boolean generateUser(int index, String passwordHash) {
+        String username = String.format("%s%05d", usernamePrefix, index);
+        if (userRepository.existsByUsername(username)) {
+            return false;
+        }
+        AppUser user = userRepository.save(new AppUser(username, passwordHash));
+        Random random = new Random(seed * 31 + index);
+        LocalDate today = LocalDate.now();
+        YearMonth first = YearMonth.from(today).minusMonths(monthsBack);
+        YearMonth last = YearMonth.from(today).plusMonths(monthsAhead);
+
+        createSubscriptions(user, first, random);
+        createItems(user, first, last, today, random);
+        scheduleWorkouts(user, first.atDay(1), last.atEndOfMonth(), random);
+        createNotifications(user, random);
+        return true;
+    }
+
+    private void createSubscriptions(AppUser user, YearMonth first, Random random) {
+        FixedCostFrequency[] frequencies = {FixedCostFrequency.MONTHLY, FixedCostFrequency.MONTHLY, FixedCostFrequency.WEEKLY, FixedCostFrequency.YEARLY};
+        for (int i = 0; i < fixedCosts; i++) {
+            LocalDate date = first.atDay(1 + random.nextInt(first.lengthOfMonth()));
+            BigDecimal amount = BigDecimal.valueOf(500 + random.nextInt(1_500_000), 2);
+            calendarService.create(user, command(date, null, null, CalendarItemType.FIXED_COST, ImportanceLevel.MEDIUM,
+                    FIXED_COSTS[i % FIXED_COSTS.length], amount, frequencies[i % frequencies.length], false));
+        }
+        for (int i = 0; i < birthdays; i++) {
+            LocalDate yearStart = first.atDay(1).withDayOfYear(1);
+            LocalDate date = yearStart.plusDays(random.nextInt(yearStart.lengthOfYear()));
+            calendarService.create(user, command(date, null, null, CalendarItemType.BIRTHDAY, ImportanceLevel.HIGH,
+                    "Birthday friend " + (i + 1), null, null, false));
+        }
+    }
+
+    private void createItems(AppUser user, YearMonth first, YearMonth last, LocalDate today, Random random) {
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            List<CreateCalendarItemCommand> commands = new ArrayList<>(itemsPerMonth);
+            for (int i = 0; i < itemsPerMonth; i++) {
+                LocalDate date = month.atDay(1 + random.nextInt(month.lengthOfMonth()));
+                commands.add(randomItem(date, date.isBefore(today), random));
+            }
+            calendarService.createAll(user, commands);
+        }
+    }
+
+    private CreateCalendarItemCommand randomItem(LocalDate date, boolean past, Random random) {
+        int roll = random.nextInt(100);
+        LocalTime start = LocalTime.of(7 + random.nextInt(12), random.nextBoolean() ? 0 : 30);
+        LocalTime end = start.plusMinutes(30L * (1 + random.nextInt(4)));
+        ImportanceLevel importance = ImportanceLevel.values()[random.nextInt(ImportanceLevel.values().length)];
+        boolean done = past && random.nextInt(10) < 8;
+
+        if (roll < 40) {
+            return command(date, start, end, CalendarItemType.JOB, importance, JOB_TITLES[random.nextInt(JOB_TITLES.length)], null, null, done);
+        }
+        if (roll < 65) {
+            SchoolItemKind kind = random.nextInt(4) == 0 ? SchoolItemKind.COMPULSORY : SchoolItemKind.LECTURE;
+            return new CreateCalendarItemCommand(date, start, end, CalendarItemType.SCHOOL, importance,
+                    SCHOOL_TITLES[random.nextInt(SCHOOL_TITLES.length)], null, done, null, kind, null);
+        }
+        if (roll < 80) {
+            return command(date, LocalTime.of(18, 0), LocalTime.of(19, 0), CalendarItemType.MAIN_MEAL, ImportanceLevel.LOW,
+                    "Dinner", null, null, done);
+        }
+        return command(date, random.nextBoolean() ? start : null, null, CalendarItemType.OTHER, importance,
+                OTHER_TITLES[random.nextInt(OTHER_TITLES.length)], null, null, done);
+    }
+
+    private void scheduleWorkouts(AppUser user, LocalDate from, LocalDate to, Random random) {
+        List<WorkoutService.EntrySpec> entries = new ArrayList<>();
+        for (String name : EXERCISES) {
+            Exercise exercise = workoutService.createExercise(user, name);
+            if (entries.size() < 4) {
+                entries.add(new WorkoutService.EntrySpec(exercise.getId(), 3 + random.nextInt(3), 5 + random.nextInt(6),
+                        BigDecimal.valueOf(40 + random.nextInt(80))));
+            }
+        }
+        WorkoutTemplate template = workoutService.createTemplate(user, "Full body", entries);
+        // Scheduling is capped per call, so go a few months at a time.
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusMonths(3)) {
+            LocalDate end = start.plusMonths(3).minusDays(1);
+            workoutService.scheduleTemplate(user, template.getId(), new WorkoutService.ScheduleSpec(
+                    start,
+                    end.isAfter(to) ? to : end,
+                    EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY),
+                    1,
+                    LocalTime.of(17, 0),
+                    LocalTime.of(18, 0),
+                    ImportanceLevel.MEDIUM
+            ));
+        }
+    }
+
+    private void createNotifications(AppUser user, Random random) {
+        List<Notification> backlog = new ArrayList<>(notifications);
+        for (int i = 0; i < notifications; i++) {
+            Notification notification = new Notification(user, NotificationType.UPCOMING, ImportanceLevel.MEDIUM,
+                    "Upcoming: item " + (i + 1), null);
+            // Most of the backlog has been seen; the rest stays unread.
+            if (random.nextInt(4) != 0) {
+                notification.markRead();
+            }
+            backlog.add(notification);
+        }
+        notificationRepository.saveAll(backlog);
+    }
+
+    private static CreateCalendarItemCommand command(
+            LocalDate date,
+            LocalTime start,
+            LocalTime end,
+            CalendarItemType type,
+            ImportanceLevel importance,
+            String title,
+            BigDecimal amount,
+            FixedCostFrequency frequency,
+            boolean done
+    ) {
+        return new CreateCalendarItemCommand(date, start, end, type, importance, title, null, done, amount, null, frequency);
+    }
+}
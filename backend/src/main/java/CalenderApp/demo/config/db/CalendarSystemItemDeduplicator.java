@@ -1,23 +1,25 @@
 package CalenderApp.demo.config.db;
 
-import CalenderApp.demo.model.CalendarItem;
-import CalenderApp.demo.model.CalendarItemType;
-import CalenderApp.demo.model.FixedCostFrequency;
-import CalenderApp.demo.model.FixedCostSubscription;
-import CalenderApp.demo.repository.CalendarItemRepository;
-import CalenderApp.demo.repository.FixedCostSubscriptionRepository;
 import CalenderApp.demo.service.CalendarMonthCache;
+import CalenderApp.demo.service.CalendarYearSummaryStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.LocalDate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
 import java.time.YearMonth;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -25,173 +27,280 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+/**
+ * Removes duplicate generated occurrences and deactivates duplicate fixed-cost subscriptions (same signature, the
+ * oldest wins), in the background after startup, then builds the unique (user_id, date, key) indexes on
+ * calendar_items once the table is clean.
+ * <p>
+ * Work is done in id chunks, each committed with its high-water mark in maintenance_jobs, so no statement touches
+ * the whole table and a restart resumes where it stopped. On PostgreSQL the indexes are built CONCURRENTLY outside
+ * any transaction; a build that fails on a duplicate inserted meanwhile leaves an invalid index, which is dropped
+ * and retried on the next tick after that row has been swept.
+ */
 @Component
-public class CalendarSystemItemDeduplicator implements ApplicationRunner {
+public class CalendarSystemItemDeduplicator {
 
     private static final Logger log = LoggerFactory.getLogger(CalendarSystemItemDeduplicator.class);
 
-    private final CalendarItemRepository itemRepository;
-    private final FixedCostSubscriptionRepository fixedCostSubscriptionRepository;
+    private static final String ITEMS_JOB = "calendar-items-dedup";
+    private static final String SUBSCRIPTIONS_JOB = "fixed-cost-subscriptions-dedup";
+
+    /** Advisory lock key, so only one node builds the indexes at a time. */
+    private static final long INDEX_LOCK = 0x63616c7571L;
+
+    private static final List<NaturalKey> ITEM_KEYS = List.of(
+            new NaturalKey("uq_calendar_items_system_item", "system_key"),
+            new NaturalKey("uq_calendar_items_fixed_cost_occurrence", "fixed_cost_subscription_id"),
+            new NaturalKey("uq_calendar_items_birthday_occurrence", "birthday_subscription_id")
+    );
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
     private final CalendarMonthCache monthCache;
+    private final CalendarYearSummaryStore yearSummaryStore;
+    private final int chunkSize;
+    private volatile boolean indexesInstalled;
 
     public CalendarSystemItemDeduplicator(
-            CalendarItemRepository itemRepository,
-            FixedCostSubscriptionRepository fixedCostSubscriptionRepository,
-            CalendarMonthCache monthCache
+            JdbcTemplate jdbc,
+            PlatformTransactionManager transactionManager,
+            CalendarMonthCache monthCache,
+            CalendarYearSummaryStore yearSummaryStore,
+            @Value("${app.dedup.chunkSize:5000}") int chunkSize
     ) {
-        this.itemRepository = itemRepository;
-        this.fixedCostSubscriptionRepository = fixedCostSubscriptionRepository;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
         this.monthCache = monthCache;
+        this.yearSummaryStore = yearSummaryStore;
+        this.chunkSize = chunkSize;
     }
 
-    @Override
-    @Transactional
-    public void run(ApplicationArguments args) {
+    @Scheduled(initialDelayString = "${app.dedup.initialDelayMs:30000}", fixedDelayString = "${app.dedup.pollMs:600000}")
+    public void run() {
         try {
-            Set<EvictKey> monthsToEvict = new HashSet<>();
-
-            int holidaysRemoved = dedupeHolidays(monthsToEvict);
-            int fixedCostItemsRemoved = dedupeFixedCostItems(monthsToEvict);
-            int subsDeactivated = dedupeFixedCostSubscriptions(monthsToEvict);
-
-            for (EvictKey k : monthsToEvict) {
-                monthCache.evict(k.userId(), k.month());
-            }
+            int subsDeactivated = sweepFixedCostSubscriptions();
+            int itemsRemoved = sweepItems();
+            installUniqueIndexes();
 
-            if (holidaysRemoved > 0 || fixedCostItemsRemoved > 0 || subsDeactivated > 0) {
-                log.info(
-                        "Dedup complete: holidaysRemoved={}, fixedCostItemsRemoved={}, subscriptionsDeactivated={}, monthsEvicted={}",
-                        holidaysRemoved,
-                        fixedCostItemsRemoved,
-                        subsDeactivated,
-                        monthsToEvict.size()
-                );
+            if (itemsRemoved > 0 || subsDeactivated > 0) {
+                log.info("Dedup pass complete: itemsRemoved={}, subscriptionsDeactivated={}", itemsRemoved, subsDeactivated);
             }
         } catch (Exception e) {
-            // Best-effort cleanup; never block startup.
-            log.debug("Dedup skipped due to error: {}", e.getMessage());
+            // Best-effort cleanup; the next tick resumes from the last committed chunk.
+            log.warn("Dedup pass failed: {}", e.getMessage());
         }
     }
 
-    private int dedupeHolidays(Set<EvictKey> monthsToEvict) {
-        List<CalendarItem> holidays = new ArrayList<>();
-        holidays.addAll(itemRepository.findByTypeAndTitleStartingWith(CalendarItemType.OTHER, "Merkedag:"));
-        holidays.addAll(itemRepository.findByTypeAndTitleStartingWith(CalendarItemType.OTHER, "Helligdag:"));
-
-        holidays.sort(Comparator.comparing(CalendarItem::getId));
-
-        Map<String, Long> seen = new HashMap<>();
-        List<Long> toDelete = new ArrayList<>();
+    private int sweepItems() {
+        long hwm = highWaterMark(ITEMS_JOB);
+        long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM calendar_items", Long.class);
+        int removed = 0;
 
-        for (CalendarItem it : holidays) {
-            Long userId = it.getUser() != null ? it.getUser().getId() : null;
-            if (userId == null || it.getDate() == null || it.getTitle() == null) continue;
+        while (hwm < maxId) {
+            long lo = hwm;
+            long hi = Math.min(hwm + chunkSize, maxId);
+            Set<EvictKey> evict = new HashSet<>();
 
-            String key = userId + "|" + it.getDate() + "|" + it.getTitle();
-            if (!seen.containsKey(key)) {
-                seen.put(key, it.getId());
-                continue;
-            }
-
-            toDelete.add(it.getId());
-            monthsToEvict.add(new EvictKey(userId, YearMonth.from(it.getDate())));
-        }
+            Integer chunkRemoved = tx.execute(status -> {
+                backfillSystemKeys(lo, hi);
+                int n = 0;
+                for (NaturalKey key : ITEM_KEYS) {
+                    n += deleteDuplicateItems(key, lo, hi, evict);
+                }
+                saveHighWaterMark(ITEMS_JOB, hi);
+                return n;
+            });
 
-        if (!toDelete.isEmpty()) {
-            itemRepository.deleteAllByIdInBatch(toDelete);
+            evict(evict);
+            removed += chunkRemoved != null ? chunkRemoved : 0;
+            hwm = hi;
         }
+        return removed;
+    }
 
-        return toDelete.size();
+    private void backfillSystemKeys(long lo, long hi) {
+        jdbc.update("""
+                UPDATE calendar_items SET system_key = title
+                WHERE id > ? AND id <= ?
+                  AND system_key IS NULL
+                  AND type = 'OTHER'
+                  AND (title LIKE 'Helligdag:%' OR title LIKE 'Merkedag:%')
+                """, lo, hi);
     }
 
-    private int dedupeFixedCostSubscriptions(Set<EvictKey> monthsToEvict) {
-        List<FixedCostSubscription> subs = fixedCostSubscriptionRepository.findAll();
-        subs.sort(Comparator
-                .comparing(FixedCostSubscription::getCreatedAt)
-                .thenComparing(FixedCostSubscription::getId)
-        );
+    /** Deletes rows in (lo, hi] that have an older row with the same (user_id, date, key); the lowest id is kept. */
+    private int deleteDuplicateItems(NaturalKey key, long lo, long hi, Set<EvictKey> evict) {
+        List<Long> ids = jdbc.query("""
+                SELECT c.id, c.user_id, c.date FROM calendar_items c
+                WHERE c.id > ? AND c.id <= ? AND c.%1$s IS NOT NULL
+                  AND EXISTS (
+                      SELECT 1 FROM calendar_items o
+                      WHERE o.user_id = c.user_id AND o.date = c.date AND o.%1$s = c.%1$s AND o.id < c.id
+                  )
+                """.formatted(key.column()), (rs, rowNum) -> {
+            evict.add(new EvictKey(rs.getLong("user_id"), YearMonth.from(rs.getDate("date").toLocalDate())));
+            return rs.getLong("id");
+        }, lo, hi);
+
+        deleteItems(ids);
+        return ids.size();
+    }
 
-        Map<String, FixedCostSubscription> keep = new HashMap<>();
+    private int sweepFixedCostSubscriptions() {
+        long hwm = highWaterMark(SUBSCRIPTIONS_JOB);
+        long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM fixed_cost_subscriptions", Long.class);
         int deactivated = 0;
 
-        LocalDate start = LocalDate.of(1900, 1, 1);
-        LocalDate end = LocalDate.of(3000, 1, 1);
-
-        for (FixedCostSubscription sub : subs) {
-            if (sub.getUser() == null || sub.getUser().getId() == null) continue;
-            if (sub.getTitle() == null || sub.getAmount() == null) continue;
-
-            FixedCostFrequency freq = sub.getFrequency() != null ? sub.getFrequency() : FixedCostFrequency.MONTHLY;
-            String key = sub.getUser().getId()
-                    + "|" + sub.getTitle()
-                    + "|" + sub.getAmount()
-                    + "|" + freq
-                    + "|" + sub.getDayOfMonth()
-                    + "|" + sub.getDayOfWeek()
-                    + "|" + sub.getMonthOfYear();
-            FixedCostSubscription existing = keep.get(key);
-            if (existing == null) {
-                keep.put(key, sub);
-                continue;
-            }
-
-            if (sub.isActive()) {
-                sub.setActive(false);
-                fixedCostSubscriptionRepository.save(sub);
-                deactivated++;
-            }
-
-            List<CalendarItem> items = itemRepository.findByUserAndFixedCostSubscriptionAndDateBetween(sub.getUser(), sub, start, end);
-            if (!items.isEmpty()) {
-                for (CalendarItem it : items) {
-                    if (it.getDate() != null) {
-                        monthsToEvict.add(new EvictKey(sub.getUser().getId(), YearMonth.from(it.getDate())));
-                    }
+        while (hwm < maxId) {
+            long lo = hwm;
+            long hi = Math.min(hwm + chunkSize, maxId);
+            Set<EvictKey> evict = new HashSet<>();
+
+            Integer chunkDeactivated = tx.execute(status -> {
+                // Same signature as FixedCostSubscriptionRepository.findBySignature; the oldest subscription wins.
+                // Only the chunk's users are numbered, since a duplicate always shares its original's user.
+                List<Long> duplicates = jdbc.queryForList("""
+                        SELECT d.id FROM (
+                            SELECT s.id,
+                                   ROW_NUMBER() OVER (
+                                       PARTITION BY s.user_id, s.title, s.amount, COALESCE(s.frequency, 'MONTHLY'),
+                                                    s.day_of_month, COALESCE(s.day_of_week, 0), COALESCE(s.month_of_year, 0)
+                                       ORDER BY s.created_at, s.id
+                                   ) AS rn
+                            FROM fixed_cost_subscriptions s
+                            WHERE s.user_id IN (SELECT k.user_id FROM fixed_cost_subscriptions k WHERE k.id > ? AND k.id <= ?)
+                        ) d
+                        WHERE d.rn > 1 AND d.id > ? AND d.id <= ?
+                        """, Long.class, lo, hi, lo, hi);
+
+                int n = 0;
+                for (Long subId : duplicates) {
+                    n += jdbc.update("UPDATE fixed_cost_subscriptions SET active = FALSE WHERE id = ? AND active = TRUE", subId);
+                    List<Long> itemIds = jdbc.query(
+                            "SELECT id, user_id, date FROM calendar_items WHERE fixed_cost_subscription_id = ?",
+                            (rs, rowNum) -> {
+                                evict.add(new EvictKey(rs.getLong("user_id"), YearMonth.from(rs.getDate("date").toLocalDate())));
+                                return rs.getLong("id");
+                            },
+                            subId
+                    );
+                    deleteItems(itemIds);
                 }
-                itemRepository.deleteAllInBatch(items);
-            }
-        }
+                saveHighWaterMark(SUBSCRIPTIONS_JOB, hi);
+                return n;
+            });
 
+            evict(evict);
+            deactivated += chunkDeactivated != null ? chunkDeactivated : 0;
+            hwm = hi;
+        }
         return deactivated;
     }
 
-    private int dedupeFixedCostItems(Set<EvictKey> monthsToEvict) {
-        int removed = 0;
-        LocalDate start = LocalDate.of(1900, 1, 1);
-        LocalDate end = LocalDate.of(3000, 1, 1);
-
-        for (FixedCostSubscription sub : fixedCostSubscriptionRepository.findAll()) {
-            if (sub.getUser() == null || sub.getUser().getId() == null) continue;
-
-            List<CalendarItem> items = itemRepository.findByUserAndFixedCostSubscriptionAndDateBetween(sub.getUser(), sub, start, end);
-            if (items.size() <= 1) continue;
+    private void deleteItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate("DELETE FROM calendar_items WHERE id = ?", ids, chunkSize, (ps, id) -> ps.setLong(1, id));
+    }
 
-            items.sort(Comparator.comparing(CalendarItem::getId));
+    /**
+     * Builds each missing unique index, on one autocommit connection so PostgreSQL can build it CONCURRENTLY.
+     * A valid index is left alone and an invalid leftover of an earlier failed build is dropped first.
+     */
+    private void installUniqueIndexes() {
+        if (indexesInstalled) {
+            return;
+        }
+        Boolean done = jdbc.execute((ConnectionCallback<Boolean>) c -> {
+            if (!"PostgreSQL".equals(c.getMetaData().getDatabaseProductName())) {
+                try (Statement statement = c.createStatement()) {
+                    for (NaturalKey key : ITEM_KEYS) {
+                        statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + key.indexName() + " ON calendar_items (" + key.columns() + ")");
+                    }
+                }
+                return true;
+            }
+            if (!advisoryLock(c, "pg_try_advisory_lock")) {
+                return false;
+            }
+            try (Statement statement = c.createStatement()) {
+                for (NaturalKey key : ITEM_KEYS) {
+                    Boolean valid = indexValid(c, key.indexName());
+                    if (Boolean.TRUE.equals(valid)) {
+                        continue;
+                    }
+                    if (valid != null) {
+                        statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + key.indexName());
+                    }
+                    try {
+                        statement.execute("CREATE UNIQUE INDEX CONCURRENTLY " + key.indexName() + " ON calendar_items (" + key.columns() + ")");
+                        log.info("Created unique index {}", key.indexName());
+                    } catch (SQLException e) {
+                        // A duplicate inserted after the sweep; it is swept on the next tick and the build retried.
+                        statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + key.indexName());
+                        throw e;
+                    }
+                }
+                return true;
+            } finally {
+                advisoryLock(c, "pg_advisory_unlock");
+            }
+        });
+        indexesInstalled = Boolean.TRUE.equals(done);
+    }
 
-            Map<LocalDate, Long> seenDate = new HashMap<>();
-            List<Long> toDelete = new ArrayList<>();
+    /** pg_index.indisvalid for the named index, or null when it does not exist. */
+    private static Boolean indexValid(Connection c, String indexName) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("""
+                SELECT i.indisvalid FROM pg_class r JOIN pg_index i ON i.indexrelid = r.oid
+                WHERE r.relname = ? AND r.relnamespace = current_schema()::regnamespace
+                """)) {
+            ps.setString(1, indexName);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getBoolean(1) : null;
+            }
+        }
+    }
 
-            for (CalendarItem it : items) {
-                if (it.getType() != CalendarItemType.FIXED_COST) continue;
-                LocalDate date = it.getDate();
-                if (date == null) continue;
+    private static boolean advisoryLock(Connection c, String function) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("SELECT " + function + "(?)")) {
+            ps.setLong(1, INDEX_LOCK);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
 
-                if (!seenDate.containsKey(date)) {
-                    seenDate.put(date, it.getId());
-                    continue;
-                }
+    private long highWaterMark(String job) {
+        List<Long> found = jdbc.queryForList("SELECT high_water_mark FROM maintenance_jobs WHERE name = ?", Long.class, job);
+        if (!found.isEmpty()) {
+            return found.get(0);
+        }
+        jdbc.update("INSERT INTO maintenance_jobs (name, high_water_mark, updated_at) VALUES (?, 0, ?)", job, OffsetDateTime.now(ZoneOffset.UTC));
+        return 0;
+    }
 
-                toDelete.add(it.getId());
-                monthsToEvict.add(new EvictKey(sub.getUser().getId(), YearMonth.from(date)));
-            }
+    private void saveHighWaterMark(String job, long value) {
+        jdbc.update("UPDATE maintenance_jobs SET high_water_mark = ?, updated_at = ? WHERE name = ?", value, OffsetDateTime.now(ZoneOffset.UTC), job);
+    }
 
-            if (!toDelete.isEmpty()) {
-                itemRepository.deleteAllByIdInBatch(toDelete);
-                removed += toDelete.size();
+    private void evict(Set<EvictKey> keys) {
+        Map<Long, Set<YearMonth>> monthsByUser = new HashMap<>();
+        Set<String> summaryYears = new HashSet<>();
+        for (EvictKey k : keys) {
+            monthsByUser.computeIfAbsent(k.userId(), id -> new HashSet<>()).add(k.month());
+            if (summaryYears.add(k.userId() + ":" + k.month().getYear())) {
+                yearSummaryStore.evict(k.userId(), k.month().getYear());
             }
         }
+        monthCache.evictAll(monthsByUser);
+    }
 
-        return removed;
+    private record NaturalKey(String indexName, String column) {
+        String columns() {
+            return "user_id, date, " + column;
+        }
     }
 
     private record EvictKey(Long userId, YearMonth month) {
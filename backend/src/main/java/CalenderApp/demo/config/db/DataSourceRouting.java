@@ -0,0 +1,38 @@
+package CalenderApp.demo.config.db;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override for {@link ReplicaRoutingDataSource}: while set, read-only transactions still use the
+ * primary. Set for a user's requests right after their own write and for reads that follow an insert in
+ * the same request, where replica lag would otherwise hide the new rows.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = ThreadLocal.withInitial(() -> false);
+
+    private DataSourceRouting() {
+    }
+
+    public static boolean isPrimaryForced() {
+        return FORCE_PRIMARY.get();
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(true);
+        try {
+            return action.get();
+        } finally {
+            FORCE_PRIMARY.set(previous);
+        }
+    }
+
+    static void forcePrimary(boolean force) {
+        FORCE_PRIMARY.set(force);
+    }
+
+    static void clear() {
+        FORCE_PRIMARY.remove();
+    }
+}
@@ -0,0 +1,88 @@
+package CalenderApp.demo.config.db;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes on top of replica routing. Writes and auth requests run entirely on the primary, and a
+ * user's reads stay on the primary for {@code app.datasource.replica.lagWindowMs} after their last write.
+ * <p>
+ * The window is tracked per node, so without sticky sessions a read served by another node can still observe
+ * replica lag. Runs after the security filter chain, so the authenticated user is known.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaLagGuardFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+    private final long lagWindowMs;
+
+    public ReplicaLagGuardFilter(@Value("${app.datasource.replica.lagWindowMs:5000}") long lagWindowMs) {
+        this.lagWindowMs = lagWindowMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        String user = currentUser();
+        long now = System.currentTimeMillis();
+
+        DataSourceRouting.forcePrimary(write || request.getRequestURI().startsWith("/api/auth/") || recentlyWrote(user, now));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DataSourceRouting.clear();
+            if (write && user != null) {
+                lastWriteAt.put(user, System.currentTimeMillis());
+            }
+        }
+    }
+
+    /** Drops users whose window has passed; reads only clean up users that come back. */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lagWindowMs:5000}")
+    void sweep() {
+        long cutoff = System.currentTimeMillis() - lagWindowMs;
+        lastWriteAt.values().removeIf(at -> at < cutoff);
+    }
+
+    private boolean recentlyWrote(String user, long now) {
+        if (user == null) {
+            return false;
+        }
+        Long at = lastWriteAt.get(user);
+        if (at == null) {
+            return false;
+        }
+        if (now - at > lagWindowMs) {
+            lastWriteAt.remove(user, at);
+            return false;
+        }
+        return true;
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
@@ -0,0 +1,66 @@
+package CalenderApp.demo.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many Hibernate statements each request ran ({@code http.server.requests.db.statements}), tagged
+ * like {@code http.server.requests} with the method and the matched route template, so N+1 regressions show up
+ * per endpoint. The filter runs first, so statements issued during authentication are included.
+ */
+@Configuration
+public class StatementMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementCountFilter> registration = new FilterRegistrationBean<>(new StatementCountFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    static class StatementCountFilter extends OncePerRequestFilter {
+
+        private final MeterRegistry meterRegistry;
+
+        StatementCountFilter(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            StatementCountingInspector.begin();
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                long statements = StatementCountingInspector.end();
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("http.server.requests.db.statements")
+                        .baseUnit("statements")
+                        .tag("method", request.getMethod())
+                        .tag("uri", route != null ? route.toString() : "UNKNOWN")
+                        .register(meterRegistry)
+                        .record(statements);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package CalenderApp.demo.config.redis;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row the circuit opens and
+ * calls are refused for {@code openMillis}; then a single probe is let through (half-open). A successful probe
+ * closes the circuit, a failed one reopens it.
+ */
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+
+    public RedisCircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    public boolean allowRequest() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && clock.getAsLong() - openedAt < openMillis) {
+            return false;
+        }
+        // Open window elapsed (or already half-open): exactly one caller probes.
+        if (probeInFlight.compareAndSet(false, true)) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    /** @return true if this success closed a previously open circuit */
+    public boolean recordSuccess() {
+        consecutiveFailures.set(0);
+        boolean recovered = state != State.CLOSED;
+        state = State.CLOSED;
+        probeInFlight.set(false);
+        return recovered;
+    }
+
+    public void recordFailure() {
+        if (state == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = clock.getAsLong();
+            state = State.OPEN;
+            probeInFlight.set(false);
+        }
+    }
+
+    /** For an outcome that says nothing about Redis being up; a half-open probe is handed to the next caller. */
+    public void recordIgnored() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight.set(false);
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+}
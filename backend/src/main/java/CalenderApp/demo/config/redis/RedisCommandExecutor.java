@@ -0,0 +1,148 @@
+package CalenderApp.demo.config.redis;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single entry point for Redis commands: borrows a connection, times the call, and trips a circuit breaker so
+ * that during an outage callers get their fallback immediately instead of waiting out connect/read timeouts.
+ * <p>
+ * Evictions are skipped while the circuit is open, so entries written before the outage could be served
+ * stale afterwards. On recovery the shared {@link #EPOCH_KEY} is bumped; cache keys embed it, which retires
+ * everything cached before the outage on every node. Evictions go through {@link #invalidate}, which schedules
+ * the same bump when a single one fails while the circuit is still closed.
+ */
+@Component
+public class RedisCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCommandExecutor.class);
+
+    public static final String EPOCH_KEY = "cache:epoch";
+
+    @FunctionalInterface
+    public interface JedisCallback<T> {
+        T doInRedis(Jedis jedis) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface JedisAction {
+        void doInRedis(Jedis jedis) throws Exception;
+    }
+
+    private final JedisPool jedisPool;
+    private final RedisCircuitBreaker breaker;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean epochBumpPending;
+
+    public RedisCommandExecutor(
+            JedisPool jedisPool,
+            MeterRegistry meterRegistry,
+            @Value("${app.redis.breaker.failureThreshold:5}") int failureThreshold,
+            @Value("${app.redis.breaker.openMs:10000}") long openMs
+    ) {
+        this.jedisPool = jedisPool;
+        this.breaker = new RedisCircuitBreaker(failureThreshold, openMs, System::currentTimeMillis);
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("redis.pool.active", jedisPool, JedisPool::getNumActive).register(meterRegistry);
+        Gauge.builder("redis.pool.idle", jedisPool, JedisPool::getNumIdle).register(meterRegistry);
+        Gauge.builder("redis.pool.waiters", jedisPool, JedisPool::getNumWaiters).register(meterRegistry);
+        Gauge.builder("redis.circuit.state", breaker, b -> b.state().ordinal())
+                .description("0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(String operation, JedisCallback<T> callback, T fallback) {
+        if (!breaker.allowRequest()) {
+            meterRegistry.counter("redis.command.short_circuited", "operation", operation).increment();
+            return fallback;
+        }
+        long started = System.nanoTime();
+        try (Jedis jedis = jedisPool.getResource()) {
+            if (epochBumpPending) {
+                bumpEpoch(jedis);
+            }
+            T result = callback.doInRedis(jedis);
+            record(operation, "success", started);
+            if (breaker.recordSuccess()) {
+                log.info("Redis circuit closed");
+                epochBumpPending = true;
+                bumpEpoch(jedis);
+            }
+            return result;
+        } catch (JedisConnectionException e) {
+            // Refused connections and socket timeouts: the only failures that say Redis itself is down.
+            record(operation, "error", started);
+            boolean wasOpen = breaker.state() == RedisCircuitBreaker.State.OPEN;
+            breaker.recordFailure();
+            if (!wasOpen && breaker.state() == RedisCircuitBreaker.State.OPEN) {
+                log.warn("Redis circuit opened after {} failed: {}", operation, e.getMessage());
+            }
+            return fallback;
+        } catch (Exception e) {
+            // Pool exhaustion is local back-pressure and a bad reply is one command's problem; neither trips the breaker.
+            record(operation, "error", started);
+            String reason = isPoolExhausted(e) ? "pool_exhausted" : "error";
+            meterRegistry.counter("redis.command.rejected", "operation", operation, "reason", reason).increment();
+            breaker.recordIgnored();
+            return fallback;
+        }
+    }
+
+    public void run(String operation, JedisAction action) {
+        execute(operation, jedis -> {
+            action.doInRedis(jedis);
+            return null;
+        }, null);
+    }
+
+    /**
+     * Like {@link #run}, for commands that retire cached data. If it does not go through, everything cached is
+     * retired instead by bumping the epoch on the next command that reaches Redis.
+     */
+    public void invalidate(String operation, JedisAction action) {
+        boolean done = execute(operation, jedis -> {
+            action.doInRedis(jedis);
+            return true;
+        }, false);
+        if (!done) {
+            meterRegistry.counter("redis.invalidation.failed", "operation", operation).increment();
+            epochBumpPending = true;
+        }
+    }
+
+    /** Jedis wraps the pool's borrow timeout, a NoSuchElementException without a cause of its own. */
+    private static boolean isPoolExhausted(Exception e) {
+        return e instanceof JedisException && e.getCause() instanceof NoSuchElementException nse && nse.getCause() == null;
+    }
+
+    private void bumpEpoch(Jedis jedis) {
+        try {
+            jedis.incr(EPOCH_KEY);
+            epochBumpPending = false;
+        } catch (Exception ignored) {
+            // Retried on the next successful command.
+        }
+    }
+
+    private void record(String operation, String outcome, long startedNanos) {
+        Timer.builder("redis.command")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,22 +1,38 @@
 package CalenderApp.demo.config.redis;
 
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class RedisConfig {
 
+    // Timeouts are deliberately short: Redis is a cache here, and a slow answer is worse than a DB read.
     @Bean
     public JedisPool jedisPool(
             @Value("${app.redis.host:localhost}") String host,
-            @Value("${app.redis.port:6379}") int port
+            @Value("${app.redis.port:6379}") int port,
+            @Value("${app.redis.connectTimeoutMs:200}") int connectTimeoutMs,
+            @Value("${app.redis.socketTimeoutMs:250}") int socketTimeoutMs,
+            @Value("${app.redis.pool.maxTotal:32}") int maxTotal,
+            @Value("${app.redis.pool.maxIdle:16}") int maxIdle,
+            @Value("${app.redis.pool.maxWaitMs:100}") long maxWaitMs
     ) {
         JedisPoolConfig config = new JedisPoolConfig();
-        config.setMaxTotal(32);
-        config.setMaxIdle(16);
-        return new JedisPool(config, host, port);
+        config.setMaxTotal(maxTotal);
+        config.setMaxIdle(maxIdle);
+        config.setMaxWait(Duration.ofMillis(maxWaitMs));
+
+        DefaultJedisClientConfig clientConfig = DefaultJedisClientConfig.builder()
+                .connectionTimeoutMillis(connectTimeoutMs)
+                .socketTimeoutMillis(socketTimeoutMs)
+                .build();
+        return new JedisPool(config, new HostAndPort(host, port), clientConfig);
     }
 }
@@ -0,0 +1,32 @@
+package CalenderApp.demo.config.redis;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-user version tokens. A version is a random token rather than a counter: when the key expires or Redis
+ * loses its data a fresh token is minted, so a value handed out earlier (for example in an ETag) never matches
+ * again. The generation also embeds {@link RedisCommandExecutor#EPOCH_KEY}, which covers bumps skipped during
+ * an outage.
+ */
+public final class VersionTokens {
+
+    /**
+     * Lua prelude leaving the generation in {@code g}. KEYS[1] is the version key, KEYS[2] the epoch key,
+     * ARGV[1] the token to store if the version is missing and ARGV[2] its TTL in seconds.
+     */
+    public static final String RESOLVE_GENERATION = """
+            local v = redis.call('GET', KEYS[1])
+            if not v then
+              v = ARGV[1]
+              redis.call('SET', KEYS[1], v, 'EX', ARGV[2])
+            end
+            local g = 'e' .. (redis.call('GET', KEYS[2]) or '0') .. ':v' .. v
+            """;
+
+    private VersionTokens() {
+    }
+
+    public static String newToken() {
+        return Long.toString(System.currentTimeMillis(), 36) + "." + Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    }
+}
@@ -41,7 +41,10 @@ public class SecurityConfig {
                                 "/index.html",
                     "/vite.svg",
                     "/favicon.ico",
-                                "/assets/**"
+                                "/assets/**",
+                                // Only reachable on the management port (management.server.port).
+                                "/actuator/health",
+                                "/actuator/prometheus"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -1,23 +1,43 @@
 package CalenderApp.demo.controller;
 
+import CalenderApp.demo.controller.dto.CalendarDaySummaryResponse;
 import CalenderApp.demo.controller.dto.CalendarItemCreateRequest;
+import CalenderApp.demo.controller.dto.CalendarItemListResponse;
 import CalenderApp.demo.controller.dto.CalendarItemResponse;
 import CalenderApp.demo.controller.dto.CalendarItemUpdateRequest;
 import CalenderApp.demo.controller.dto.CalendarMonthResponse;
+import CalenderApp.demo.controller.dto.CalendarRangeResponse;
+import CalenderApp.demo.controller.dto.CalendarYearSummaryResponse;
 import CalenderApp.demo.model.AppUser;
 import CalenderApp.demo.model.CalendarItemType;
 import CalenderApp.demo.service.CalendarService;
 import CalenderApp.demo.service.CurrentUserService;
 import CalenderApp.demo.service.command.CreateCalendarItemCommand;
 import CalenderApp.demo.service.command.UpdateCalendarItemCommand;
+import CalenderApp.demo.service.view.CalendarItemListView;
 import CalenderApp.demo.service.view.CalendarItemView;
+import CalenderApp.demo.service.view.CalendarYearSummary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.security.Principal;
 import java.time.LocalDate;
+import java.time.Year;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/calendar")
@@ -25,10 +45,12 @@ public class CalendarController {
 
     private final CalendarService calendarService;
     private final CurrentUserService currentUserService;
+    private final ObjectMapper objectMapper;
 
-    public CalendarController(CalendarService calendarService, CurrentUserService currentUserService) {
+    public CalendarController(CalendarService calendarService, CurrentUserService currentUserService, ObjectMapper objectMapper) {
         this.calendarService = calendarService;
         this.currentUserService = currentUserService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/day")
@@ -37,12 +59,80 @@ public class CalendarController {
         return calendarService.listDay(user, date, type).stream().map(CalendarController::toResponse).toList();
     }
 
+    // Polled: the version is read before the month is loaded, so an unchanged month costs no item query.
     @GetMapping("/month")
-    public CalendarMonthResponse getMonth(@RequestParam int year, @RequestParam int month, @RequestParam(required = false) CalendarItemType type, Principal principal) {
+    public ResponseEntity<CalendarMonthResponse> getMonth(
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam(required = false) CalendarItemType type,
+            @RequestParam(required = false) Set<CalendarItemType> types,
+            WebRequest request,
+            Principal principal
+    ) {
         AppUser user = currentUserService.requireByUsername(principal.getName());
         YearMonth ym = YearMonth.of(year, month);
-        List<CalendarItemResponse> items = calendarService.listMonth(user, ym, type).stream().map(CalendarController::toResponse).toList();
-        return new CalendarMonthResponse(year, month, items);
+        return ConditionalGet.respond(request, calendarService.monthVersion(user, ym), () -> {
+            List<CalendarItemListResponse> items = calendarService.listMonth(user, ym, mergeTypes(type, types)).stream().map(CalendarController::toListResponse).toList();
+            return new CalendarMonthResponse(year, month, items);
+        });
+    }
+
+    @GetMapping("/range")
+    public CalendarRangeResponse getRange(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(required = false) Set<CalendarItemType> types,
+            Principal principal
+    ) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        List<CalendarItemListResponse> items = calendarService.listRange(user, from, to, types).stream().map(CalendarController::toListResponse).toList();
+        return new CalendarRangeResponse(from, to, items);
+    }
+
+    // Same body shape as /range, but written month by month so a year view never buffers the full list.
+    @GetMapping("/range/stream")
+    public ResponseEntity<StreamingResponseBody> streamRange(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(required = false) Set<CalendarItemType> types,
+            Principal principal
+    ) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        calendarService.validateRange(from, to);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeStringField("from", from.toString());
+                json.writeStringField("to", to.toString());
+                json.writeArrayFieldStart("items");
+                calendarService.forEachRangeChunk(user, from, to, types, chunk -> {
+                    try {
+                        for (CalendarItemListView view : chunk) {
+                            objectMapper.writeValue(json, toListResponse(view));
+                        }
+                        json.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/summary")
+    public CalendarYearSummaryResponse getYearSummary(@RequestParam int year, Principal principal) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        return toSummaryResponse(calendarService.summarizeYear(user, year));
+    }
+
+    // Month/range lists leave out the log; the editor loads the full item here.
+    @GetMapping("/items/{id}")
+    public CalendarItemResponse get(@PathVariable Long id, Principal principal) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        return toResponse(calendarService.get(user, id));
     }
 
     @PostMapping("/items")
@@ -89,6 +179,45 @@ public class CalendarController {
         calendarService.delete(user, id);
     }
 
+    // `type` is the original single-section filter; `types` allows several sections in one request.
+    private static Set<CalendarItemType> mergeTypes(CalendarItemType type, Set<CalendarItemType> types) {
+        if (type == null) {
+            return types;
+        }
+        if (types == null || types.isEmpty()) {
+            return Set.of(type);
+        }
+        Set<CalendarItemType> merged = EnumSet.copyOf(types);
+        merged.add(type);
+        return merged;
+    }
+
+    // Only days with items are listed, which keeps a full year at a few KB.
+    private static CalendarYearSummaryResponse toSummaryResponse(CalendarYearSummary summary) {
+        Year year = Year.of(summary.year());
+        List<CalendarDaySummaryResponse> days = new ArrayList<>();
+        for (int day = 1; day <= year.length(); day++) {
+            if (summary.isEmpty(day)) {
+                continue;
+            }
+            Map<CalendarItemType, Integer> counts = new EnumMap<>(CalendarItemType.class);
+            for (CalendarItemType type : CalendarItemType.values()) {
+                int count = summary.typeCount(day, type);
+                if (count > 0) {
+                    counts.put(type, count);
+                }
+            }
+            days.add(new CalendarDaySummaryResponse(
+                    year.atDay(day),
+                    counts,
+                    summary.doneCount(day),
+                    summary.undoneCount(day),
+                    summary.maxImportance(day)
+            ));
+        }
+        return new CalendarYearSummaryResponse(summary.year(), days);
+    }
+
     private static CalendarItemResponse toResponse(CalendarItemView view) {
         return new CalendarItemResponse(
                 view.id(),
@@ -107,4 +236,21 @@ public class CalendarController {
                 view.updatedAt()
         );
     }
+
+    private static CalendarItemListResponse toListResponse(CalendarItemListView view) {
+        return new CalendarItemListResponse(
+                view.id(),
+                view.date(),
+                view.startTime(),
+                view.endTime(),
+                view.type(),
+                view.importance(),
+                view.title(),
+                view.done(),
+                view.amount(),
+                view.schoolKind(),
+                view.fixedCostFrequency(),
+                view.hasLog()
+        );
+    }
 }
@@ -0,0 +1,34 @@
+package CalenderApp.demo.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * ETag handling for polled reads. The version is checked before the body is built, so a matching
+ * {@code If-None-Match} is answered with 304 without loading anything. Without a version (Redis unavailable)
+ * the full body is sent with no ETag.
+ */
+final class ConditionalGet {
+
+    // Per-user data: browsers may keep it but must revalidate on every use; shared caches must not store it.
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(WebRequest request, Optional<String> version, Supplier<T> body) {
+        if (version.isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CACHE_CONTROL).body(body.get());
+        }
+        String etag = "\"" + version.get() + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(body.get());
+    }
+}
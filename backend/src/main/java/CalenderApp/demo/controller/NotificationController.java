@@ -5,7 +5,9 @@ import CalenderApp.demo.model.AppUser;
 import CalenderApp.demo.service.CurrentUserService;
 import CalenderApp.demo.service.NotificationService;
 import CalenderApp.demo.service.view.NotificationView;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
 import java.util.List;
@@ -23,15 +25,17 @@ public class NotificationController {
     }
 
     @GetMapping("/unread")
-    public List<NotificationResponse> unread(Principal principal) {
+    public ResponseEntity<List<NotificationResponse>> unread(WebRequest request, Principal principal) {
         AppUser user = currentUserService.requireByUsername(principal.getName());
-        return notificationService.listUnread(user).stream().map(NotificationController::toResponse).toList();
+        return ConditionalGet.respond(request, notificationService.version(user).map(v -> v + ":unread"),
+                () -> notificationService.listUnread(user).stream().map(NotificationController::toResponse).toList());
     }
 
     @GetMapping
-    public List<NotificationResponse> all(Principal principal) {
+    public ResponseEntity<List<NotificationResponse>> all(WebRequest request, Principal principal) {
         AppUser user = currentUserService.requireByUsername(principal.getName());
-        return notificationService.listAll(user).stream().map(NotificationController::toResponse).toList();
+        return ConditionalGet.respond(request, notificationService.version(user).map(v -> v + ":all"),
+                () -> notificationService.listAll(user).stream().map(NotificationController::toResponse).toList());
     }
 
     @PostMapping("/{id}/read")
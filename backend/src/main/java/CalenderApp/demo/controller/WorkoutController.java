@@ -1,13 +1,22 @@
 package CalenderApp.demo.controller;
 
 import CalenderApp.demo.controller.dto.ExerciseCreateRequest;
+import CalenderApp.demo.controller.dto.ExercisePageResponse;
+import CalenderApp.demo.controller.dto.ExerciseProgressResponse;
 import CalenderApp.demo.controller.dto.ExerciseResponse;
 import CalenderApp.demo.controller.dto.WorkoutEntryRequest;
 import CalenderApp.demo.controller.dto.WorkoutEntryResponse;
+import CalenderApp.demo.controller.dto.WorkoutScheduleRequest;
+import CalenderApp.demo.controller.dto.WorkoutScheduleResponse;
 import CalenderApp.demo.controller.dto.WorkoutSessionResponse;
 import CalenderApp.demo.controller.dto.WorkoutSessionUpdateRequest;
+import CalenderApp.demo.controller.dto.WorkoutStatsResponse;
 import CalenderApp.demo.controller.dto.WorkoutTemplateCreateRequest;
+import CalenderApp.demo.controller.dto.WorkoutTemplatePageResponse;
 import CalenderApp.demo.controller.dto.WorkoutTemplateResponse;
+import CalenderApp.demo.controller.dto.WorkoutTemplateSummaryPageResponse;
+import CalenderApp.demo.controller.dto.WorkoutTemplateSummaryResponse;
+import CalenderApp.demo.controller.dto.WorkoutWeekStatResponse;
 import CalenderApp.demo.model.AppUser;
 import CalenderApp.demo.model.Exercise;
 import CalenderApp.demo.model.WorkoutSession;
@@ -16,11 +25,20 @@ import CalenderApp.demo.model.WorkoutTemplate;
 import CalenderApp.demo.model.WorkoutTemplateEntry;
 import CalenderApp.demo.service.CurrentUserService;
 import CalenderApp.demo.service.WorkoutService;
+import CalenderApp.demo.service.WorkoutStatsService;
+import CalenderApp.demo.service.view.ExerciseProgressView;
+import CalenderApp.demo.service.view.ExerciseWeeklyStatView;
+import CalenderApp.demo.service.view.WorkoutTemplateSummaryView;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/workout")
@@ -28,10 +46,12 @@ public class WorkoutController {
 
     private final CurrentUserService currentUserService;
     private final WorkoutService workoutService;
+    private final WorkoutStatsService statsService;
 
-    public WorkoutController(CurrentUserService currentUserService, WorkoutService workoutService) {
+    public WorkoutController(CurrentUserService currentUserService, WorkoutService workoutService, WorkoutStatsService statsService) {
         this.currentUserService = currentUserService;
         this.workoutService = workoutService;
+        this.statsService = statsService;
     }
 
     @GetMapping("/exercises")
@@ -40,6 +60,29 @@ public class WorkoutController {
         return workoutService.listExercises(user).stream().map(WorkoutController::toExerciseResponse).toList();
     }
 
+    // Keyset pages in name order; "after" is the previous page's nextAfter.
+    @GetMapping("/exercises/page")
+    public ExercisePageResponse listExercisesPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit,
+            Principal principal
+    ) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        List<Exercise> page = workoutService.listExercisesPage(user, after, limit);
+        String nextAfter = page.size() == limit ? page.get(page.size() - 1).getNameLc() : null;
+        return new ExercisePageResponse(page.stream().map(WorkoutController::toExerciseResponse).toList(), nextAfter);
+    }
+
+    @GetMapping("/exercises/search")
+    public List<ExerciseResponse> searchExercises(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit,
+            Principal principal
+    ) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        return workoutService.searchExercises(user, q, limit).stream().map(WorkoutController::toExerciseResponse).toList();
+    }
+
     @PostMapping("/exercises")
     public ExerciseResponse createExercise(@Valid @RequestBody ExerciseCreateRequest request, Principal principal) {
         AppUser user = currentUserService.requireByUsername(principal.getName());
@@ -56,21 +99,53 @@ public class WorkoutController {
     @GetMapping("/templates")
     public List<WorkoutTemplateResponse> listTemplates(Principal principal) {
         AppUser user = currentUserService.requireByUsername(principal.getName());
-        return workoutService.listTemplates(user).stream().map(WorkoutController::toTemplateResponse).toList();
+        List<WorkoutTemplate> templates = workoutService.listTemplates(user);
+        Map<Long, String> names = exerciseNames(user, templates.stream().flatMap(t -> t.getEntries().stream()).map(e -> e.getExercise().getId()));
+        return templates.stream().map(t -> toTemplateResponse(t, names)).toList();
+    }
+
+    // Newest first, keyset-paged; headers and entry counts only.
+    @GetMapping("/templates/summaries")
+    public WorkoutTemplateSummaryPageResponse listTemplateSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Principal principal
+    ) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        WorkoutService.CursorPage<WorkoutTemplateSummaryView> page = workoutService.listTemplateSummaries(user, cursor, limit);
+        return new WorkoutTemplateSummaryPageResponse(page.items().stream().map(WorkoutController::toSummaryResponse).toList(), page.nextCursor());
+    }
+
+    @GetMapping("/templates/page")
+    public WorkoutTemplatePageResponse listTemplatesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Principal principal
+    ) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        WorkoutService.CursorPage<WorkoutTemplate> page = workoutService.listTemplatesPage(user, cursor, limit);
+        Map<Long, String> names = exerciseNames(user, page.items().stream().flatMap(t -> t.getEntries().stream()).map(e -> e.getExercise().getId()));
+        return new WorkoutTemplatePageResponse(page.items().stream().map(t -> toTemplateResponse(t, names)).toList(), page.nextCursor());
+    }
+
+    @GetMapping("/templates/{id}")
+    public WorkoutTemplateResponse getTemplate(@PathVariable Long id, Principal principal) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        return toTemplateResponse(user, workoutService.getTemplate(user, id));
     }
 
     @PostMapping("/templates")
     public WorkoutTemplateResponse createTemplate(@Valid @RequestBody WorkoutTemplateCreateRequest request, Principal principal) {
         AppUser user = currentUserService.requireByUsername(principal.getName());
         WorkoutTemplate template = workoutService.createTemplate(user, request.title(), request.entries().stream().map(WorkoutController::toSpec).toList());
-        return toTemplateResponse(template);
+        return toTemplateResponse(user, template);
     }
 
     @PutMapping("/templates/{id}")
     public WorkoutTemplateResponse updateTemplate(@PathVariable Long id, @Valid @RequestBody WorkoutTemplateCreateRequest request, Principal principal) {
         AppUser user = currentUserService.requireByUsername(principal.getName());
         WorkoutTemplate template = workoutService.updateTemplate(user, id, request.title(), request.entries().stream().map(WorkoutController::toSpec).toList());
-        return toTemplateResponse(template);
+        return toTemplateResponse(user, template);
     }
 
     @DeleteMapping("/templates/{id}")
@@ -79,40 +154,129 @@ public class WorkoutController {
         workoutService.deleteTemplate(user, id);
     }
 
+    // Creates the calendar items and pre-filled sessions for a recurring plan in one batch.
+    @PostMapping("/templates/{id}/schedule")
+    public WorkoutScheduleResponse scheduleTemplate(@PathVariable Long id, @Valid @RequestBody WorkoutScheduleRequest request, Principal principal) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        WorkoutService.ScheduleSpec spec = new WorkoutService.ScheduleSpec(
+                request.from(),
+                request.to(),
+                request.daysOfWeek(),
+                request.intervalWeeks() != null ? request.intervalWeeks() : 1,
+                request.startTime(),
+                request.endTime(),
+                request.importance()
+        );
+        WorkoutService.ScheduleResult result = workoutService.scheduleTemplate(user, id, spec);
+        return new WorkoutScheduleResponse(id, result.calendarItemIds(), result.dates());
+    }
+
     @GetMapping("/sessions/{calendarItemId}")
     public WorkoutSessionResponse getSession(@PathVariable Long calendarItemId, Principal principal) {
         AppUser user = currentUserService.requireByUsername(principal.getName());
         WorkoutSession session = workoutService.getOrCreateSession(user, calendarItemId);
-        return toSessionResponse(calendarItemId, session);
+        return toSessionResponse(user, calendarItemId, session);
     }
 
     @PutMapping("/sessions/{calendarItemId}")
     public WorkoutSessionResponse updateSession(@PathVariable Long calendarItemId, @Valid @RequestBody WorkoutSessionUpdateRequest request, Principal principal) {
         AppUser user = currentUserService.requireByUsername(principal.getName());
         WorkoutSession session = workoutService.updateSession(user, calendarItemId, request.entries().stream().map(WorkoutController::toSpec).toList());
-        return toSessionResponse(calendarItemId, session);
+        return toSessionResponse(user, calendarItemId, session);
+    }
+
+    // Single-entry edit for live logging: one row update instead of re-sending the whole session.
+    @PatchMapping("/sessions/{calendarItemId}/entries/{position}")
+    public WorkoutSessionResponse updateSessionEntry(
+            @PathVariable Long calendarItemId,
+            @PathVariable int position,
+            @Valid @RequestBody WorkoutEntryRequest request,
+            Principal principal
+    ) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        WorkoutSession session = workoutService.updateSessionEntry(user, calendarItemId, position, toSpec(request));
+        return toSessionResponse(user, calendarItemId, session);
+    }
+
+    // Weekly series per exercise; defaults to the last 12 weeks.
+    @GetMapping("/stats")
+    public WorkoutStatsResponse stats(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) Long exerciseId,
+            Principal principal
+    ) {
+        AppUser user = currentUserService.requireByUsername(principal.getName());
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusWeeks(11);
+        List<ExerciseProgressResponse> exercises = statsService.progress(user, start, end, exerciseId).stream()
+                .map(WorkoutController::toProgressResponse)
+                .toList();
+        return new WorkoutStatsResponse(start, end, exercises);
     }
 
     private static ExerciseResponse toExerciseResponse(Exercise ex) {
         return new ExerciseResponse(ex.getId(), ex.getName());
     }
 
-    private static WorkoutTemplateResponse toTemplateResponse(WorkoutTemplate template) {
-        List<WorkoutEntryResponse> entries = template.getEntries().stream().map(WorkoutController::toEntryResponse).toList();
+    // Entries hold uninitialized exercise references; reading their id does not load them.
+    private Map<Long, String> exerciseNames(AppUser user, Stream<Long> exerciseIds) {
+        Set<Long> ids = exerciseIds.collect(Collectors.toSet());
+        return ids.isEmpty() ? Map.of() : workoutService.exerciseNames(user, ids);
+    }
+
+    private WorkoutTemplateResponse toTemplateResponse(AppUser user, WorkoutTemplate template) {
+        return toTemplateResponse(template, exerciseNames(user, template.getEntries().stream().map(e -> e.getExercise().getId())));
+    }
+
+    private static WorkoutTemplateSummaryResponse toSummaryResponse(WorkoutTemplateSummaryView view) {
+        return new WorkoutTemplateSummaryResponse(view.id(), view.title(), view.entryCount(), view.createdAt(), view.updatedAt());
+    }
+
+    private static WorkoutTemplateResponse toTemplateResponse(WorkoutTemplate template, Map<Long, String> names) {
+        List<WorkoutEntryResponse> entries = template.getEntries().stream().map(e -> toEntryResponse(e, names)).toList();
         return new WorkoutTemplateResponse(template.getId(), template.getTitle(), entries, template.getCreatedAt(), template.getUpdatedAt());
     }
 
-    private static WorkoutSessionResponse toSessionResponse(Long calendarItemId, WorkoutSession session) {
-        List<WorkoutEntryResponse> entries = session.getEntries().stream().map(WorkoutController::toEntryResponse).toList();
+    private WorkoutSessionResponse toSessionResponse(AppUser user, Long calendarItemId, WorkoutSession session) {
+        Map<Long, String> names = exerciseNames(user, session.getEntries().stream().map(e -> e.getExercise().getId()));
+        List<WorkoutEntryResponse> entries = session.getEntries().stream().map(e -> toEntryResponse(e, names)).toList();
         return new WorkoutSessionResponse(calendarItemId, entries, session.getCreatedAt(), session.getUpdatedAt());
     }
 
-    private static WorkoutEntryResponse toEntryResponse(WorkoutTemplateEntry entry) {
-        return new WorkoutEntryResponse(entry.getExercise().getId(), entry.getExercise().getName(), entry.getSets(), entry.getReps(), entry.getWeight());
+    private static WorkoutEntryResponse toEntryResponse(WorkoutTemplateEntry entry, Map<Long, String> names) {
+        Long exerciseId = entry.getExercise().getId();
+        return new WorkoutEntryResponse(exerciseId, names.get(exerciseId), entry.getSets(), entry.getReps(), entry.getWeight());
+    }
+
+    private static WorkoutEntryResponse toEntryResponse(WorkoutSessionEntry entry, Map<Long, String> names) {
+        Long exerciseId = entry.getExercise().getId();
+        return new WorkoutEntryResponse(exerciseId, names.get(exerciseId), entry.getSets(), entry.getReps(), entry.getWeight());
+    }
+
+    private static ExerciseProgressResponse toProgressResponse(ExerciseProgressView view) {
+        List<WorkoutWeekStatResponse> weeks = view.weeks().stream().map(WorkoutController::toWeekStatResponse).toList();
+        return new ExerciseProgressResponse(
+                view.exerciseId(),
+                view.exerciseName(),
+                view.sessionCount(),
+                view.volume(),
+                view.bestWeight(),
+                view.bestE1rm(),
+                weeks
+        );
     }
 
-    private static WorkoutEntryResponse toEntryResponse(WorkoutSessionEntry entry) {
-        return new WorkoutEntryResponse(entry.getExercise().getId(), entry.getExercise().getName(), entry.getSets(), entry.getReps(), entry.getWeight());
+    private static WorkoutWeekStatResponse toWeekStatResponse(ExerciseWeeklyStatView week) {
+        return new WorkoutWeekStatResponse(
+                week.weekStart(),
+                week.sessionCount(),
+                week.totalSets(),
+                week.totalReps(),
+                week.volume(),
+                week.bestWeight(),
+                week.bestE1rm()
+        );
     }
 
     private static WorkoutService.EntrySpec toSpec(WorkoutEntryRequest req) {
@@ -0,0 +1,16 @@
+package CalenderApp.demo.controller.dto;
+
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.ImportanceLevel;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public record CalendarDaySummaryResponse(
+        LocalDate date,
+        Map<CalendarItemType, Integer> counts,
+        int done,
+        int undone,
+        ImportanceLevel maxImportance
+) {
+}
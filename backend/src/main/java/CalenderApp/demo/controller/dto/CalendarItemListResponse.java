@@ -0,0 +1,27 @@
+package CalenderApp.demo.controller.dto;
+
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.FixedCostFrequency;
+import CalenderApp.demo.model.ImportanceLevel;
+import CalenderApp.demo.model.SchoolItemKind;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Month/range item; fetch GET /api/calendar/items/{id} for the log and timestamps.
+public record CalendarItemListResponse(
+        Long id,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        CalendarItemType type,
+        ImportanceLevel importance,
+        String title,
+        boolean done,
+        BigDecimal amount,
+        SchoolItemKind schoolKind,
+        FixedCostFrequency fixedCostFrequency,
+        boolean hasLog
+) {
+}
@@ -5,6 +5,6 @@ import java.util.List;
 public record CalendarMonthResponse(
         int year,
         int month,
-        List<CalendarItemResponse> items
+        List<CalendarItemListResponse> items
 ) {
 }
@@ -0,0 +1,9 @@
+package CalenderApp.demo.controller.dto;
+
+import java.util.List;
+
+public record CalendarYearSummaryResponse(
+        int year,
+        List<CalendarDaySummaryResponse> days
+) {
+}
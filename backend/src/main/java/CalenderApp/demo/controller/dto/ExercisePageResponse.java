@@ -0,0 +1,10 @@
+package CalenderApp.demo.controller.dto;
+
+import java.util.List;
+
+public record ExercisePageResponse(
+        List<ExerciseResponse> items,
+        // Pass as "after" for the next page; null on the last page.
+        String nextAfter
+) {
+}
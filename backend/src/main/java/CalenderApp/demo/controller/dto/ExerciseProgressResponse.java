@@ -0,0 +1,15 @@
+package CalenderApp.demo.controller.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ExerciseProgressResponse(
+        Long exerciseId,
+        String exerciseName,
+        int sessionCount,
+        BigDecimal volume,
+        BigDecimal bestWeight,
+        BigDecimal estimatedOneRepMax,
+        List<WorkoutWeekStatResponse> weeks
+) {
+}
@@ -0,0 +1,22 @@
+package CalenderApp.demo.controller.dto;
+
+import CalenderApp.demo.model.ImportanceLevel;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record WorkoutScheduleRequest(
+        @NotNull LocalDate from,
+        @NotNull LocalDate to,
+        @NotEmpty Set<DayOfWeek> daysOfWeek,
+        @Min(1) Integer intervalWeeks,
+        LocalTime startTime,
+        LocalTime endTime,
+        ImportanceLevel importance
+) {
+}
@@ -0,0 +1,11 @@
+package CalenderApp.demo.controller.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record WorkoutScheduleResponse(
+        Long templateId,
+        List<Long> calendarItemIds,
+        List<LocalDate> dates
+) {
+}
@@ -0,0 +1,11 @@
+package CalenderApp.demo.controller.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record WorkoutStatsResponse(
+        LocalDate from,
+        LocalDate to,
+        List<ExerciseProgressResponse> exercises
+) {
+}
@@ -0,0 +1,10 @@
+package CalenderApp.demo.controller.dto;
+
+import java.util.List;
+
+public record WorkoutTemplateSummaryPageResponse(
+        List<WorkoutTemplateSummaryResponse> items,
+        // Pass as "cursor" for the next page; null on the last page.
+        String nextCursor
+) {
+}
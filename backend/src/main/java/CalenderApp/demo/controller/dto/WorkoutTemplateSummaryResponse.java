@@ -0,0 +1,12 @@
+package CalenderApp.demo.controller.dto;
+
+import java.time.Instant;
+
+public record WorkoutTemplateSummaryResponse(
+        Long id,
+        String title,
+        int entryCount,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
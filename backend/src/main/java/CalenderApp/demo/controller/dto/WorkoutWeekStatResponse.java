@@ -0,0 +1,15 @@
+package CalenderApp.demo.controller.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record WorkoutWeekStatResponse(
+        LocalDate weekStart,
+        int sessionCount,
+        int totalSets,
+        int totalReps,
+        BigDecimal volume,
+        BigDecimal bestWeight,
+        BigDecimal estimatedOneRepMax
+) {
+}
@@ -75,6 +75,10 @@ public class CalendarItem {
     @JoinColumn(name = "birthday_subscription_id")
     private BirthdaySubscription birthdaySubscription;
 
+    // Set for generated holiday rows only; unique per (user_id, date), see CalendarSystemItemDeduplicator.
+    @Column(length = 120)
+    private String systemKey;
+
     @Column(nullable = false)
     private boolean notified = false;
 
@@ -210,6 +214,14 @@ public class CalendarItem {
         touch();
     }
 
+    public String getSystemKey() {
+        return systemKey;
+    }
+
+    public void setSystemKey(String systemKey) {
+        this.systemKey = systemKey;
+    }
+
     public boolean isNotified() {
         return notified;
     }
@@ -6,18 +6,19 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 import java.time.Instant;
+import java.util.Locale;
 
 @Entity
 @Table(
         name = "exercises",
-        indexes = {
-                @Index(name = "idx_exercises_user_name", columnList = "user_id,name")
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_exercises_user_name_lc", columnNames = {"user_id", "name_lc"})
         }
 )
 public class Exercise {
@@ -33,6 +34,10 @@ public class Exercise {
     @Column(nullable = false, length = 80)
     private String name;
 
+    // Lookup key for duplicate checks and prefix search, see normalizeName.
+    @Column(name = "name_lc", nullable = false, length = 80)
+    private String nameLc;
+
     @Column(nullable = false)
     private Instant createdAt = Instant.now();
 
@@ -45,6 +50,11 @@ public class Exercise {
     public Exercise(AppUser user, String name) {
         this.user = user;
         this.name = name;
+        this.nameLc = normalizeName(name);
+    }
+
+    public static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
     }
 
     public Long getId() {
@@ -59,8 +69,13 @@ public class Exercise {
         return name;
     }
 
+    public String getNameLc() {
+        return nameLc;
+    }
+
     public void setName(String name) {
         this.name = name;
+        this.nameLc = normalizeName(name);
         touch();
     }
 
@@ -0,0 +1,109 @@
+package CalenderApp.demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Weekly workout aggregate for one exercise. Written only by ExerciseWeeklyStatJdbcRepository, which
+ * recomputes a whole week at a time, so the entity is read-only.
+ */
+@Entity
+@Immutable
+@Table(name = "exercise_weekly_stats")
+public class ExerciseWeeklyStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private AppUser user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "exercise_id", nullable = false)
+    private Exercise exercise;
+
+    @Column(nullable = false)
+    private LocalDate weekStart;
+
+    @Column(nullable = false)
+    private int sessionCount;
+
+    @Column(nullable = false)
+    private int totalSets;
+
+    @Column(nullable = false)
+    private int totalReps;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal volume;
+
+    @Column(precision = 8, scale = 2)
+    private BigDecimal bestWeight;
+
+    @Column(name = "best_e1rm", precision = 10, scale = 2)
+    private BigDecimal bestE1rm;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    protected ExerciseWeeklyStat() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public AppUser getUser() {
+        return user;
+    }
+
+    public Exercise getExercise() {
+        return exercise;
+    }
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    public int getTotalSets() {
+        return totalSets;
+    }
+
+    public int getTotalReps() {
+        return totalReps;
+    }
+
+    public BigDecimal getVolume() {
+        return volume;
+    }
+
+    public BigDecimal getBestWeight() {
+        return bestWeight;
+    }
+
+    public BigDecimal getBestE1rm() {
+        return bestE1rm;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
@@ -17,7 +18,9 @@ import java.math.BigDecimal;
 public class WorkoutSessionEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence rather than IDENTITY so Hibernate can batch the inserts; 50 ids are reserved per round-trip.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workout_session_entries_seq")
+    @SequenceGenerator(name = "workout_session_entries_seq", sequenceName = "workout_session_entries_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -64,6 +67,10 @@ public class WorkoutSessionEntry {
         return exercise;
     }
 
+    public void setExercise(Exercise exercise) {
+        this.exercise = exercise;
+    }
+
     public int getSets() {
         return sets;
     }
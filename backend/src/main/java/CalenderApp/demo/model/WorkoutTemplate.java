@@ -22,7 +22,7 @@ import java.util.List;
 @Table(
         name = "workout_templates",
         indexes = {
-                @Index(name = "idx_workout_templates_user", columnList = "user_id")
+                @Index(name = "idx_workout_templates_user_updated", columnList = "user_id,updated_at,id")
         }
 )
 public class WorkoutTemplate {
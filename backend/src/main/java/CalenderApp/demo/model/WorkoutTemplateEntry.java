@@ -6,18 +6,27 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "workout_template_entries")
+@Table(
+        name = "workout_template_entries",
+        indexes = {
+                @Index(name = "idx_workout_template_entries_template", columnList = "template_id,position")
+        }
+)
 public class WorkoutTemplateEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence rather than IDENTITY so Hibernate can batch the inserts; 50 ids are reserved per round-trip.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workout_template_entries_seq")
+    @SequenceGenerator(name = "workout_template_entries_seq", sequenceName = "workout_template_entries_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -64,6 +73,10 @@ public class WorkoutTemplateEntry {
         return exercise;
     }
 
+    public void setExercise(Exercise exercise) {
+        this.exercise = exercise;
+    }
+
     public int getSets() {
         return sets;
     }
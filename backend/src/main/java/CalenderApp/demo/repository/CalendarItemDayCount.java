@@ -0,0 +1,15 @@
+package CalenderApp.demo.repository;
+
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.ImportanceLevel;
+
+import java.time.LocalDate;
+
+public record CalendarItemDayCount(
+        LocalDate date,
+        CalendarItemType type,
+        ImportanceLevel importance,
+        Boolean done,
+        Long count
+) {
+}
@@ -0,0 +1,77 @@
+package CalenderApp.demo.repository;
+
+import CalenderApp.demo.model.CalendarItem;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Batched inserts of user-created calendar items. calendar_items ids are IDENTITY, which keeps Hibernate from
+ * batching, so bulk creation goes through one JDBC batch and reads the ids back as generated keys.
+ * Subscription-backed items are not supported here.
+ */
+@Repository
+public class CalendarItemJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO calendar_items (
+                user_id, date, start_time, end_time, type, importance, title, log, done, amount, school_kind,
+                notified, created_at, updated_at
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public CalendarItemJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** Inserts the given transient items and returns their ids in the same order. */
+    public List<Long> insertAll(List<CalendarItem> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CalendarItem item = items.get(i);
+                ps.setLong(1, item.getUser().getId());
+                ps.setObject(2, item.getDate());
+                ps.setObject(3, item.getStartTime(), Types.TIME);
+                ps.setObject(4, item.getEndTime(), Types.TIME);
+                ps.setString(5, item.getType().name());
+                ps.setString(6, item.getImportance().name());
+                ps.setString(7, item.getTitle());
+                ps.setString(8, item.getLog());
+                ps.setBoolean(9, item.isDone());
+                ps.setObject(10, item.getAmount(), Types.NUMERIC);
+                ps.setString(11, item.getSchoolKind() != null ? item.getSchoolKind().name() : null);
+                ps.setObject(12, now);
+                ps.setObject(13, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return items.size();
+            }
+        }, keys);
+        return generatedIds(keys);
+    }
+
+    static List<Long> generatedIds(GeneratedKeyHolder keys) {
+        // Drivers differ in key column naming (id vs ID), so take the single value of each row.
+        return keys.getKeyList().stream()
+                .map(row -> ((Number) row.values().iterator().next()).longValue())
+                .toList();
+    }
+}
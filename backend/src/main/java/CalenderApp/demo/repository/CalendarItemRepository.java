@@ -4,35 +4,63 @@ import CalenderApp.demo.model.AppUser;
 import CalenderApp.demo.model.CalendarItem;
 import CalenderApp.demo.model.CalendarItemType;
 import CalenderApp.demo.model.FixedCostSubscription;
+import CalenderApp.demo.service.view.CalendarItemListView;
+import CalenderApp.demo.service.view.CalendarItemView;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+@Transactional(readOnly = true)
 public interface CalendarItemRepository extends JpaRepository<CalendarItem, Long> {
     List<CalendarItem> findByUserAndDate(AppUser user, LocalDate date);
 
-    @EntityGraph(attributePaths = {"fixedCostSubscription"})
-    List<CalendarItem> findByUserAndDateOrderByStartTimeAsc(AppUser user, LocalDate date);
-
-    @EntityGraph(attributePaths = {"fixedCostSubscription"})
-    List<CalendarItem> findByUserAndDateAndTypeOrderByStartTimeAsc(AppUser user, LocalDate date, CalendarItemType type);
-
-    @EntityGraph(attributePaths = {"fixedCostSubscription"})
-    List<CalendarItem> findByUserAndDateBetweenOrderByDateAscStartTimeAsc(AppUser user, LocalDate start, LocalDate end);
-
-    @EntityGraph(attributePaths = {"fixedCostSubscription"})
-    List<CalendarItem> findByUserAndDateBetweenAndTypeOrderByDateAscStartTimeAsc(AppUser user, LocalDate start, LocalDate end, CalendarItemType type);
+    // Read paths project straight into the view: no managed entities, snapshots or subscription proxies.
+    // The frequency mirrors CalendarServiceImpl.toView (FIXED_COST only, MONTHLY when unset).
+    String VIEW_SELECT = """
+            select new CalenderApp.demo.service.view.CalendarItemView(
+                i.id, i.date, i.startTime, i.endTime, i.type, i.importance, i.title, i.log, i.done, i.amount, i.schoolKind,
+                case when i.type = CalenderApp.demo.model.CalendarItemType.FIXED_COST
+                     then coalesce(s.frequency, CalenderApp.demo.model.FixedCostFrequency.MONTHLY) end,
+                i.createdAt, i.updatedAt)
+            from CalendarItem i left join i.fixedCostSubscription s
+            """;
+
+    @Query(VIEW_SELECT + "where i.user = :user and i.date = :date order by i.startTime asc")
+    List<CalendarItemView> findViewsByUserAndDate(@Param("user") AppUser user, @Param("date") LocalDate date);
+
+    @Query(VIEW_SELECT + "where i.user = :user and i.date = :date and i.type = :type order by i.startTime asc")
+    List<CalendarItemView> findViewsByUserAndDateAndType(@Param("user") AppUser user, @Param("date") LocalDate date, @Param("type") CalendarItemType type);
+
+    // Month/range grid rows: no log text or timestamps, only whether a log exists.
+    @Query("""
+            select new CalenderApp.demo.service.view.CalendarItemListView(
+                i.id, i.date, i.startTime, i.endTime, i.type, i.importance, i.title, i.done, i.amount, i.schoolKind,
+                case when i.type = CalenderApp.demo.model.CalendarItemType.FIXED_COST
+                     then coalesce(s.frequency, CalenderApp.demo.model.FixedCostFrequency.MONTHLY) end,
+                case when i.log is not null and length(i.log) > 0 then true else false end)
+            from CalendarItem i left join i.fixedCostSubscription s
+            where i.user = :user and i.date between :start and :end
+            order by i.date asc, i.startTime asc
+            """)
+    List<CalendarItemListView> findListViewsByUserAndDateBetween(@Param("user") AppUser user, @Param("start") LocalDate start, @Param("end") LocalDate end);
 
     Optional<CalendarItem> findByIdAndUser(Long id, AppUser user);
 
-    Optional<CalendarItem> findTopByUserAndTypeAndDoneTrueOrderByDateDesc(AppUser user, CalendarItemType type);
-
-    boolean existsByUserAndDateAndTypeAndTitle(AppUser user, LocalDate date, CalendarItemType type, String title);
+    @Query("""
+            select new CalenderApp.demo.repository.CalendarItemDayCount(i.date, i.type, i.importance, i.done, count(i))
+            from CalendarItem i
+            where i.user = :user and i.date between :start and :end
+            group by i.date, i.type, i.importance, i.done
+            """)
+    List<CalendarItemDayCount> countByDay(@Param("user") AppUser user, @Param("start") LocalDate start, @Param("end") LocalDate end);
 
-    List<CalendarItem> findByTypeAndTitleStartingWith(CalendarItemType type, String titlePrefix);
+    Optional<CalendarItem> findTopByUserAndTypeAndDoneTrueOrderByDateDesc(AppUser user, CalendarItemType type);
 
     List<CalendarItem> findByDateAndNotifiedFalseAndStartTimeIsNotNull(LocalDate date);
 
@@ -40,11 +68,18 @@ public interface CalendarItemRepository extends JpaRepository<CalendarItem, Long
 
     List<CalendarItem> findByDateAndTypeAndNotifiedFalse(LocalDate date, CalendarItemType type);
 
-    boolean existsByUserAndFixedCostSubscriptionAndDate(AppUser user, FixedCostSubscription sub, LocalDate date);
+    // Claims an item for notification on the primary; 0 means another run (or node) already claimed it,
+    // or the scan came from a replica that had not seen the earlier claim yet.
+    @Modifying
+    @Transactional
+    @Query("update CalendarItem i set i.notified = true where i.id = :id and i.notified = false")
+    int markNotified(@Param("id") Long id);
 
-    List<CalendarItem> findByUserAndFixedCostSubscriptionAndDateBetween(AppUser user, FixedCostSubscription sub, LocalDate start, LocalDate end);
+    Optional<CalendarItem> findFirstByUserAndFixedCostSubscriptionAndDate(AppUser user, FixedCostSubscription sub, LocalDate date);
 
-    boolean existsByUserAndBirthdaySubscriptionAndDate(AppUser user, CalenderApp.demo.model.BirthdaySubscription sub, LocalDate date);
+    Optional<CalendarItem> findFirstByUserAndBirthdaySubscriptionAndDate(AppUser user, CalenderApp.demo.model.BirthdaySubscription sub, LocalDate date);
+
+    List<CalendarItem> findByUserAndFixedCostSubscriptionAndDateBetween(AppUser user, FixedCostSubscription sub, LocalDate start, LocalDate end);
 
     List<CalendarItem> findByUserAndBirthdaySubscriptionAndDateBetween(AppUser user, CalenderApp.demo.model.BirthdaySubscription sub, LocalDate start, LocalDate end);
 }
@@ -0,0 +1,149 @@
+package CalenderApp.demo.repository;
+
+import CalenderApp.demo.model.CalendarItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Inserts of subscription and holiday occurrences: batched for generated ones, single for a user-created one.
+ * <p>
+ * Rows go in with {@code ON CONFLICT DO NOTHING} against the unique (user_id, date, key) indexes that
+ * CalendarSystemItemDeduplicator builds, so two readers materializing the same month race harmlessly: the loser's
+ * row is skipped instead of failing the request. No conflict target is named, because PostgreSQL rejects one whose
+ * index does not exist yet and H2's PostgreSQL mode accepts none; until the indexes are built, the job removes the
+ * rare duplicate instead.
+ */
+@Repository
+public class CalendarOccurrenceJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO calendar_items (
+                user_id, date, start_time, end_time, type, importance, title, log, done, amount, school_kind,
+                fixed_cost_subscription_id, birthday_subscription_id, system_key,
+                notified, created_at, updated_at
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public CalendarOccurrenceJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Keys of generated rows already present for the user in [start, end], as built by {@link #keyOf(CalendarItem)}.
+     * One query replaces a per-occurrence exists check.
+     */
+    public Set<String> existingKeys(Long userId, LocalDate start, LocalDate end) {
+        Set<String> keys = new HashSet<>();
+        jdbc.query("""
+                SELECT date, fixed_cost_subscription_id, birthday_subscription_id, system_key
+                FROM calendar_items
+                WHERE user_id = ? AND date BETWEEN ? AND ?
+                  AND (fixed_cost_subscription_id IS NOT NULL OR birthday_subscription_id IS NOT NULL OR system_key IS NOT NULL)
+                """, rs -> {
+            LocalDate date = rs.getDate("date").toLocalDate();
+            long fixedCostId = rs.getLong("fixed_cost_subscription_id");
+            if (!rs.wasNull()) {
+                keys.add(fixedCostKey(fixedCostId, date));
+            }
+            long birthdayId = rs.getLong("birthday_subscription_id");
+            if (!rs.wasNull()) {
+                keys.add(birthdayKey(birthdayId, date));
+            }
+            String systemKey = rs.getString("system_key");
+            if (systemKey != null) {
+                keys.add(systemKey(systemKey, date));
+            }
+        }, userId, start, end);
+        return keys;
+    }
+
+    /**
+     * Inserts the given transient items, skipping rows that collide with an existing occurrence.
+     *
+     * @return per-item update counts: 1 inserted, 0 skipped, {@link Statement#SUCCESS_NO_INFO} when the driver
+     * does not report counts for batched statements
+     */
+    public int[] insertIgnoringConflicts(List<CalendarItem> items) {
+        if (items.isEmpty()) {
+            return new int[0];
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        int[][] batches = jdbc.batchUpdate(INSERT_SQL, items, items.size(), (ps, item) -> bind(ps, item, now));
+        return batches.length == 0 ? new int[0] : batches[0];
+    }
+
+    /**
+     * Inserts one occurrence unless its (user, date, subscription) row already exists, including one a concurrent
+     * transaction is inserting (PostgreSQL waits for that transaction to finish first).
+     *
+     * @return the new id, or empty when the row already existed
+     */
+    public Optional<Long> insertIfAbsent(CalendarItem item) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_SQL, new String[]{"id"});
+            bind(ps, item, now);
+            return ps;
+        }, keys);
+        List<Long> ids = CalendarItemJdbcRepository.generatedIds(keys);
+        return ids.isEmpty() ? Optional.empty() : Optional.of(ids.get(0));
+    }
+
+    private static void bind(PreparedStatement ps, CalendarItem item, OffsetDateTime now) throws SQLException {
+        ps.setLong(1, item.getUser().getId());
+        ps.setObject(2, item.getDate());
+        ps.setObject(3, item.getStartTime(), Types.TIME);
+        ps.setObject(4, item.getEndTime(), Types.TIME);
+        ps.setString(5, item.getType().name());
+        ps.setString(6, item.getImportance().name());
+        ps.setString(7, item.getTitle());
+        ps.setString(8, item.getLog());
+        ps.setBoolean(9, item.isDone());
+        ps.setObject(10, item.getAmount(), Types.NUMERIC);
+        ps.setString(11, item.getSchoolKind() != null ? item.getSchoolKind().name() : null);
+        ps.setObject(12, item.getFixedCostSubscription() != null ? item.getFixedCostSubscription().getId() : null, Types.BIGINT);
+        ps.setObject(13, item.getBirthdaySubscription() != null ? item.getBirthdaySubscription().getId() : null, Types.BIGINT);
+        ps.setString(14, item.getSystemKey());
+        ps.setObject(15, now);
+        ps.setObject(16, now);
+    }
+
+    public static String keyOf(CalendarItem item) {
+        if (item.getFixedCostSubscription() != null) {
+            return fixedCostKey(item.getFixedCostSubscription().getId(), item.getDate());
+        }
+        if (item.getBirthdaySubscription() != null) {
+            return birthdayKey(item.getBirthdaySubscription().getId(), item.getDate());
+        }
+        return systemKey(item.getSystemKey(), item.getDate());
+    }
+
+    private static String fixedCostKey(long subscriptionId, LocalDate date) {
+        return "F:" + subscriptionId + ":" + date;
+    }
+
+    private static String birthdayKey(long subscriptionId, LocalDate date) {
+        return "B:" + subscriptionId + ":" + date;
+    }
+
+    private static String systemKey(String key, LocalDate date) {
+        return "S:" + key + ":" + date;
+    }
+}
@@ -0,0 +1,7 @@
+package CalenderApp.demo.repository;
+
+public record ExerciseName(
+        Long id,
+        String name
+) {
+}
@@ -2,15 +2,30 @@ package CalenderApp.demo.repository;
 
 import CalenderApp.demo.model.AppUser;
 import CalenderApp.demo.model.Exercise;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
-    List<Exercise> findByUserOrderByNameAsc(AppUser user);
+    List<Exercise> findByUserOrderByNameLcAsc(AppUser user);
+
+    /** Keyset page in name order: the next {@code limit} exercises after {@code afterNameLc}. */
+    List<Exercise> findByUserAndNameLcGreaterThanOrderByNameLcAsc(AppUser user, String afterNameLc, Limit limit);
+
+    /** Typeahead; the prefix is matched against name_lc and LIKE wildcards in it are escaped. */
+    List<Exercise> findByUserAndNameLcStartingWithOrderByNameLcAsc(AppUser user, String prefix, Limit limit);
 
     Optional<Exercise> findByIdAndUser(Long id, AppUser user);
 
-    boolean existsByUserAndNameIgnoreCase(AppUser user, String name);
+    List<Exercise> findAllByUserAndIdIn(AppUser user, Collection<Long> ids);
+
+    @Query("select new CalenderApp.demo.repository.ExerciseName(e.id, e.name) from Exercise e where e.user = :user and e.id in :ids")
+    List<ExerciseName> findNamesByUserAndIdIn(@Param("user") AppUser user, @Param("ids") Collection<Long> ids);
+
+    boolean existsByUserAndNameLc(AppUser user, String nameLc);
 }
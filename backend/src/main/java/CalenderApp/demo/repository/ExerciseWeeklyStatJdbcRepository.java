@@ -0,0 +1,57 @@
+package CalenderApp.demo.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes exercise_weekly_stats. A week is small (a handful of sessions), so instead of adjusting counters,
+ * which cannot undo a best weight, each change recomputes the user's whole week from its entries. Only sessions
+ * whose calendar item is done count, so scheduled ones do not inflate the stats.
+ * <p>
+ * Runs on the caller's transaction and must see its entry changes, so the JPA session has to be flushed first.
+ */
+@Repository
+public class ExerciseWeeklyStatJdbcRepository {
+
+    private static final String INSERT_WEEK = """
+            INSERT INTO exercise_weekly_stats (
+                user_id, exercise_id, week_start, session_count, total_sets, total_reps, volume, best_weight, best_e1rm, updated_at
+            )
+            SELECT s.user_id, e.exercise_id, CAST(? AS DATE), COUNT(DISTINCT s.id), SUM(e.sets), SUM(e.sets * e.reps),
+                   SUM(e.sets * e.reps * COALESCE(e.weight, 0)), MAX(e.weight), ROUND(MAX(e.weight * (1 + e.reps / 30.0)), 2),
+                   CURRENT_TIMESTAMP
+            FROM workout_session_entries e
+            JOIN workout_sessions s ON s.id = e.session_id
+            JOIN calendar_items i ON i.id = s.calendar_item_id
+            WHERE s.user_id = ? AND i.date BETWEEN ? AND ? AND i.done = TRUE
+            GROUP BY s.user_id, e.exercise_id
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public ExerciseWeeklyStatJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void recomputeWeek(Long userId, LocalDate weekStart) {
+        recomputeWeeks(userId, List.of(weekStart));
+    }
+
+    /** Recomputes several weeks under one lock, with the deletes and inserts each sent as one batch. */
+    public void recomputeWeeks(Long userId, Collection<LocalDate> weekStarts) {
+        if (weekStarts.isEmpty()) {
+            return;
+        }
+        // Serializes a user's recomputes until commit; two concurrent delete+insert runs would otherwise
+        // collide on the unique key.
+        jdbc.queryForList("SELECT id FROM app_users WHERE id = ? FOR UPDATE", userId);
+        List<LocalDate> weeks = List.copyOf(weekStarts);
+        jdbc.batchUpdate("DELETE FROM exercise_weekly_stats WHERE user_id = ? AND week_start = ?",
+                weeks.stream().map(w -> new Object[]{userId, w}).toList());
+        jdbc.batchUpdate(INSERT_WEEK, weeks.stream().map(w -> new Object[]{w, userId, w, w.plusDays(6)}).toList());
+    }
+}
@@ -0,0 +1,33 @@
+package CalenderApp.demo.repository;
+
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.model.ExerciseWeeklyStat;
+import CalenderApp.demo.service.view.ExerciseWeeklyStatView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface ExerciseWeeklyStatRepository extends JpaRepository<ExerciseWeeklyStat, Long> {
+
+    String VIEW_SELECT = """
+            select new CalenderApp.demo.service.view.ExerciseWeeklyStatView(
+                x.id, x.name, s.weekStart, s.sessionCount, s.totalSets, s.totalReps, s.volume, s.bestWeight, s.bestE1rm)
+            from ExerciseWeeklyStat s join s.exercise x
+            """;
+
+    @Query(VIEW_SELECT + "where s.user = :user and s.weekStart between :from and :to order by x.name asc, x.id asc, s.weekStart asc")
+    List<ExerciseWeeklyStatView> findViews(@Param("user") AppUser user, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(VIEW_SELECT + "where s.user = :user and x.id = :exerciseId and s.weekStart between :from and :to order by s.weekStart asc")
+    List<ExerciseWeeklyStatView> findViewsByExercise(
+            @Param("user") AppUser user,
+            @Param("exerciseId") Long exerciseId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
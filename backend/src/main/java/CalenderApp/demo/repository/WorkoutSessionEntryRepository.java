@@ -0,0 +1,7 @@
+package CalenderApp.demo.repository;
+
+import CalenderApp.demo.model.WorkoutSessionEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WorkoutSessionEntryRepository extends JpaRepository<WorkoutSessionEntry, Long> {
+}
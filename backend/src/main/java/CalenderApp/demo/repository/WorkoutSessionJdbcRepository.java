@@ -0,0 +1,51 @@
+package CalenderApp.demo.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/** Batched session inserts for bulk scheduling; workout_sessions ids are IDENTITY, see CalendarItemJdbcRepository. */
+@Repository
+public class WorkoutSessionJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO workout_sessions (user_id, calendar_item_id, created_at, updated_at) VALUES (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public WorkoutSessionJdbcRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** Creates one empty session per calendar item and returns the session ids in the same order. */
+    public List<Long> insertSessions(Long userId, List<Long> calendarItemIds) {
+        if (calendarItemIds.isEmpty()) {
+            return List.of();
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, userId);
+                ps.setLong(2, calendarItemIds.get(i));
+                ps.setObject(3, now);
+                ps.setObject(4, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return calendarItemIds.size();
+            }
+        }, keys);
+        return CalendarItemJdbcRepository.generatedIds(keys);
+    }
+}
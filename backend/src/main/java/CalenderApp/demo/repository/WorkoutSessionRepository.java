@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.Optional;
 
 public interface WorkoutSessionRepository extends JpaRepository<WorkoutSession, Long> {
-    @EntityGraph(attributePaths = {"entries", "entries.exercise"})
+    // Exercises stay lazy references (only their id is read); names come from ExerciseNameCache.
+    @EntityGraph(attributePaths = "entries")
     Optional<WorkoutSession> findByUserAndCalendarItem_Id(AppUser user, Long calendarItemId);
 }
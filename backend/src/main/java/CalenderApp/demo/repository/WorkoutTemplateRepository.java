@@ -2,16 +2,48 @@ package CalenderApp.demo.repository;
 
 import CalenderApp.demo.model.AppUser;
 import CalenderApp.demo.model.WorkoutTemplate;
+import CalenderApp.demo.service.view.WorkoutTemplateSummaryView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface WorkoutTemplateRepository extends JpaRepository<WorkoutTemplate, Long> {
-    @EntityGraph(attributePaths = {"entries", "entries.exercise"})
+    // Exercises stay lazy references (only their id is read); names come from ExerciseNameCache.
+
+    String SUMMARY_SELECT = """
+            select new CalenderApp.demo.service.view.WorkoutTemplateSummaryView(t.id, t.title, size(t.entries), t.createdAt, t.updatedAt)
+            from WorkoutTemplate t
+            """;
+
+    @EntityGraph(attributePaths = "entries")
     List<WorkoutTemplate> findByUserOrderByUpdatedAtDesc(AppUser user);
 
-    @EntityGraph(attributePaths = {"entries", "entries.exercise"})
+    @EntityGraph(attributePaths = "entries")
     Optional<WorkoutTemplate> findByIdAndUser(Long id, AppUser user);
+
+    // Header pages carry no collection fetch, so the limit is applied in SQL rather than in memory.
+    @Query(SUMMARY_SELECT + "where t.user = :user order by t.updatedAt desc, t.id desc")
+    List<WorkoutTemplateSummaryView> findSummaries(@Param("user") AppUser user, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + """
+            where t.user = :user and (t.updatedAt < :updatedAt or (t.updatedAt = :updatedAt and t.id < :id))
+            order by t.updatedAt desc, t.id desc
+            """)
+    List<WorkoutTemplateSummaryView> findSummariesBefore(
+            @Param("user") AppUser user,
+            @Param("updatedAt") Instant updatedAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    /** Entries for one page of headers, in one query; the caller restores the page order. */
+    @EntityGraph(attributePaths = "entries")
+    List<WorkoutTemplate> findAllByUserAndIdIn(AppUser user, Collection<Long> ids);
 }
@@ -1,15 +1,41 @@
 package CalenderApp.demo.service;
 
-import CalenderApp.demo.service.view.CalendarItemView;
+import CalenderApp.demo.service.view.CalendarItemListView;
 
 import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public interface CalendarMonthCache {
-    Optional<List<CalendarItemView>> get(Long userId, YearMonth month);
+    Optional<List<CalendarItemListView>> get(Long userId, YearMonth month);
 
-    void put(Long userId, YearMonth month, List<CalendarItemView> items);
+    /**
+     * Token that changes whenever the month, or all of the user's months, are evicted and never repeats; empty
+     * when it cannot be read. Used as the month ETag.
+     */
+    Optional<String> version(Long userId, YearMonth month);
+
+    /** Returns the cached month, or runs {@code loader} once per node for concurrent misses and caches its result. */
+    List<CalendarItemListView> getOrLoad(Long userId, YearMonth month, Supplier<List<CalendarItemListView>> loader);
+
+    /**
+     * Batch form of {@link #getOrLoad}: one cache round-trip for all months, then {@code loader} is called once
+     * with the months that missed and must return a list for each of them.
+     */
+    Map<YearMonth, List<CalendarItemListView>> getOrLoadAll(
+            Long userId,
+            List<YearMonth> months,
+            Function<List<YearMonth>, Map<YearMonth, List<CalendarItemListView>>> loader
+    );
 
     void evict(Long userId, YearMonth month);
+
+    void evictAll(Map<Long, ? extends Collection<YearMonth>> monthsByUser);
+
+    /** Retires every month of the user, for changes (such as to a subscription) whose months are not enumerated. */
+    void evictUser(Long userId);
 }
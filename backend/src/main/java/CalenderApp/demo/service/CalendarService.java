@@ -4,20 +4,60 @@ import CalenderApp.demo.model.AppUser;
 import CalenderApp.demo.model.CalendarItemType;
 import CalenderApp.demo.service.command.CreateCalendarItemCommand;
 import CalenderApp.demo.service.command.UpdateCalendarItemCommand;
+import CalenderApp.demo.service.view.CalendarItemListView;
 import CalenderApp.demo.service.view.CalendarItemView;
+import CalenderApp.demo.service.view.CalendarYearSummary;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface CalendarService {
     CalendarItemView create(AppUser user, CreateCalendarItemCommand command);
 
+    /**
+     * Creates many plain items in one batch: the affected months are evicted once and a single summarized event
+     * and notification replace the per-item ones. Subscription-backed types are rejected.
+     *
+     * @return the new ids, in command order
+     */
+    List<Long> createAll(AppUser user, List<CreateCalendarItemCommand> commands);
+
     CalendarItemView update(AppUser user, Long id, UpdateCalendarItemCommand command);
 
     void delete(AppUser user, Long id);
 
+    /** Full item including its log; list views only carry {@code hasLog}. */
+    CalendarItemView get(AppUser user, Long id);
+
     List<CalendarItemView> listDay(AppUser user, LocalDate date, CalendarItemType type);
 
-    List<CalendarItemView> listMonth(AppUser user, YearMonth month, CalendarItemType type);
+    /**
+     * Lists a month, optionally restricted to {@code types} (null or empty means all types).
+     * Filtered views are cut from the cached full month, so every section page shares one cache entry.
+     */
+    /** Version of the month list for HTTP validators; changes on any write that can affect it. */
+    Optional<String> monthVersion(AppUser user, YearMonth month);
+
+    List<CalendarItemListView> listMonth(AppUser user, YearMonth month, Set<CalendarItemType> types);
+
+    List<CalendarItemListView> listRange(AppUser user, LocalDate from, LocalDate to, Set<CalendarItemType> types);
+
+    /** Rejects a range {@link #listRange} would reject, so a streaming caller can fail before writing a response. */
+    void validateRange(LocalDate from, LocalDate to);
+
+    /**
+     * Same as {@link #listRange} but hands the items to {@code chunkConsumer} one month at a time,
+     * so callers can stream large spans without holding the whole range in memory.
+     */
+    void forEachRangeChunk(AppUser user, LocalDate from, LocalDate to, Set<CalendarItemType> types, Consumer<List<CalendarItemListView>> chunkConsumer);
+
+    /**
+     * Per-day counts for the year overview, served from a packed per-user summary that is
+     * updated incrementally on writes and rebuilt from one grouped query on a miss.
+     */
+    CalendarYearSummary summarizeYear(AppUser user, int year);
 }
@@ -0,0 +1,32 @@
+package CalenderApp.demo.service;
+
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.ImportanceLevel;
+import CalenderApp.demo.service.view.CalendarYearSummary;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface CalendarYearSummaryStore {
+    Optional<CalendarYearSummary> get(Long userId, int year);
+
+    /**
+     * Write version of a year, read before rebuilding it from the database. Empty when the store cannot tell,
+     * in which case the rebuilt summary should not be stored.
+     */
+    Optional<String> version(Long userId, int year);
+
+    /**
+     * Stores a rebuilt summary only if the year is still absent and nothing was applied or evicted since
+     * {@code version} was read; otherwise the rebuild may have missed that write and is dropped.
+     */
+    void putIfUnchanged(Long userId, CalendarYearSummary summary, String version);
+
+    /**
+     * Adds {@code delta} to the counters of one item and advances the year's version. The counters are left alone
+     * when the year is not stored, so a later read rebuilds it from the database instead of trusting partial counts.
+     */
+    void apply(Long userId, LocalDate date, CalendarItemType type, ImportanceLevel importance, boolean done, int delta);
+
+    void evict(Long userId, int year);
+}
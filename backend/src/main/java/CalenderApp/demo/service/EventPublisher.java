@@ -4,8 +4,13 @@ import CalenderApp.demo.model.CalendarItem;
 import CalenderApp.demo.model.Notification;
 import CalenderApp.demo.model.NotificationType;
 
+import java.time.LocalDate;
+
 public interface EventPublisher {
     void calendarItemEvent(NotificationType type, CalendarItem item);
 
+    /** One event for a bulk creation of {@code count} items dated between {@code firstDate} and {@code lastDate}. */
+    void calendarItemsCreated(Long userId, int count, LocalDate firstDate, LocalDate lastDate);
+
     void notificationCreated(Notification notification);
 }
@@ -0,0 +1,18 @@
+package CalenderApp.demo.service;
+
+import CalenderApp.demo.model.AppUser;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Exercise id to display name, so sessions and templates can be rendered from their entries alone instead of
+ * joining the exercise of every entry.
+ */
+public interface ExerciseNameCache {
+
+    /** Names for the given ids of the user's exercises; ids that are not the user's are left out. */
+    Map<Long, String> names(AppUser user, Collection<Long> exerciseIds);
+
+    void evict(Long userId, Long exerciseId);
+}
@@ -0,0 +1,20 @@
+package CalenderApp.demo.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Mutual exclusion per string key. Used to let only one request materialize a user's occurrences at a time.
+ * <p>
+ * Locks are best effort: if a lock cannot be acquired within the configured wait, the action still runs.
+ * Keys are not reentrant across implementations, so callers must not nest the same key.
+ */
+public interface KeyedLockService {
+    <T> T withLock(String key, Supplier<T> action);
+
+    default void runWithLock(String key, Runnable action) {
+        withLock(key, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
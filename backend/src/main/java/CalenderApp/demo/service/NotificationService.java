@@ -5,8 +5,12 @@ import CalenderApp.demo.model.Notification;
 import CalenderApp.demo.service.view.NotificationView;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationService {
+    /** Changes whenever a notification of the user is created or read; empty when unknown. */
+    Optional<String> version(AppUser user);
+
     List<NotificationView> listUnread(AppUser user);
 
     List<NotificationView> listAll(AppUser user);
@@ -0,0 +1,10 @@
+package CalenderApp.demo.service;
+
+import java.util.Optional;
+
+public interface NotificationVersionStore {
+    /** Token that changes whenever the user's notifications change and never repeats; empty when it cannot be read. */
+    Optional<String> current(Long userId);
+
+    void bump(Long userId);
+}
@@ -2,22 +2,50 @@ package CalenderApp.demo.service;
 
 import CalenderApp.demo.model.AppUser;
 import CalenderApp.demo.model.Exercise;
+import CalenderApp.demo.model.ImportanceLevel;
 import CalenderApp.demo.model.WorkoutSession;
 import CalenderApp.demo.model.WorkoutTemplate;
+import CalenderApp.demo.service.view.WorkoutTemplateSummaryView;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface WorkoutService {
 
     List<Exercise> listExercises(AppUser user);
 
+    /** Exercises after {@code afterNameLc} (null for the first page) in normalized-name order, at most {@code limit}. */
+    List<Exercise> listExercisesPage(AppUser user, String afterNameLc, int limit);
+
+    /** Typeahead: exercises whose name starts with {@code prefix}, ignoring case, at most {@code limit}. */
+    List<Exercise> searchExercises(AppUser user, String prefix, int limit);
+
+    /** Display names of the user's exercises, for rendering template and session entries. */
+    Map<Long, String> exerciseNames(AppUser user, Collection<Long> exerciseIds);
+
     Exercise createExercise(AppUser user, String name);
 
     void deleteExercise(AppUser user, Long exerciseId);
 
     List<WorkoutTemplate> listTemplates(AppUser user);
 
+    /**
+     * Newest-first page of template headers with entry counts. {@code cursor} is the previous page's
+     * {@link CursorPage#nextCursor()}, null for the first page.
+     */
+    CursorPage<WorkoutTemplateSummaryView> listTemplateSummaries(AppUser user, String cursor, int limit);
+
+    /** Same paging as {@link #listTemplateSummaries}, with each template's entries loaded by one extra query. */
+    CursorPage<WorkoutTemplate> listTemplatesPage(AppUser user, String cursor, int limit);
+
+    WorkoutTemplate getTemplate(AppUser user, Long templateId);
+
     WorkoutTemplate createTemplate(AppUser user, String title, List<EntrySpec> entries);
 
     WorkoutTemplate updateTemplate(AppUser user, Long templateId, String title, List<EntrySpec> entries);
@@ -28,6 +56,36 @@ public interface WorkoutService {
 
     WorkoutSession updateSession(AppUser user, Long calendarItemId, List<EntrySpec> entries);
 
+    /** Replaces the entry at {@code position} (0-based) of an existing session; the other entries are untouched. */
+    WorkoutSession updateSessionEntry(AppUser user, Long calendarItemId, int position, EntrySpec entry);
+
+    /**
+     * Creates a WORKOUT item for every date matched by {@code schedule}, each with a session pre-filled from the
+     * template's entries, in one transaction.
+     */
+    ScheduleResult scheduleTemplate(AppUser user, Long templateId, ScheduleSpec schedule);
+
     record EntrySpec(Long exerciseId, int sets, int reps, BigDecimal weight) {
     }
+
+    /**
+     * Weekly recurrence: {@code daysOfWeek} in every {@code intervalWeeks}-th week counted from the week of
+     * {@code from}, limited to [from, to].
+     */
+    record ScheduleSpec(
+            LocalDate from,
+            LocalDate to,
+            Set<DayOfWeek> daysOfWeek,
+            int intervalWeeks,
+            LocalTime startTime,
+            LocalTime endTime,
+            ImportanceLevel importance
+    ) {
+    }
+
+    record CursorPage<T>(List<T> items, String nextCursor) {
+    }
+
+    record ScheduleResult(List<Long> calendarItemIds, List<LocalDate> dates) {
+    }
 }
@@ -0,0 +1,23 @@
+package CalenderApp.demo.service;
+
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.service.view.ExerciseProgressView;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface WorkoutStatsService {
+
+    /**
+     * Recomputes the user's aggregates for the ISO week containing {@code date}. Call inside the transaction
+     * that changed the week's sessions, after flushing it.
+     */
+    void refreshWeek(AppUser user, LocalDate date);
+
+    /** Same as {@link #refreshWeek} for every distinct week touched by {@code dates}, in one batch. */
+    void refreshWeeks(AppUser user, Collection<LocalDate> dates);
+
+    /** Weekly series per exercise for the weeks starting in [from, to]; {@code exerciseId} may be null for all. */
+    List<ExerciseProgressView> progress(AppUser user, LocalDate from, LocalDate to, Long exerciseId);
+}
@@ -1,5 +1,6 @@
 package CalenderApp.demo.service.impl;
 
+import CalenderApp.demo.config.db.DataSourceRouting;
 import CalenderApp.demo.model.AppUser;
 import CalenderApp.demo.model.BirthdaySubscription;
 import CalenderApp.demo.model.CalendarItem;
@@ -9,37 +10,75 @@ import CalenderApp.demo.model.FixedCostSubscription;
 import CalenderApp.demo.model.Notification;
 import CalenderApp.demo.model.NotificationType;
 import CalenderApp.demo.model.SchoolItemKind;
+import CalenderApp.demo.model.ImportanceLevel;
 import CalenderApp.demo.repository.BirthdaySubscriptionRepository;
+import CalenderApp.demo.repository.CalendarItemDayCount;
+import CalenderApp.demo.repository.CalendarItemJdbcRepository;
 import CalenderApp.demo.repository.CalendarItemRepository;
+import CalenderApp.demo.repository.CalendarOccurrenceJdbcRepository;
 import CalenderApp.demo.repository.FixedCostSubscriptionRepository;
 import CalenderApp.demo.service.CalendarMonthCache;
 import CalenderApp.demo.service.CalendarService;
+import CalenderApp.demo.service.CalendarYearSummaryStore;
 import CalenderApp.demo.service.EventPublisher;
+import CalenderApp.demo.service.KeyedLockService;
 import CalenderApp.demo.service.NotificationService;
+import CalenderApp.demo.service.WorkoutStatsService;
 import CalenderApp.demo.service.command.CreateCalendarItemCommand;
 import CalenderApp.demo.service.command.UpdateCalendarItemCommand;
 import CalenderApp.demo.service.exception.BadRequestException;
 import CalenderApp.demo.service.exception.NotFoundException;
+import CalenderApp.demo.service.view.CalendarItemListView;
 import CalenderApp.demo.service.view.CalendarItemView;
+import CalenderApp.demo.service.view.CalendarYearSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.data.domain.PageRequest;
 
+import java.sql.Statement;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class CalendarServiceImpl implements CalendarService {
 
+    // Two years is enough for any year/agenda view and keeps a single request bounded.
+    private static final int MAX_RANGE_DAYS = 731;
+    private static final int RANGE_BATCH_MONTHS = 6;
+
     private final CalendarItemRepository itemRepository;
     private final CalendarMonthCache monthCache;
     private final EventPublisher eventPublisher;
     private final NotificationService notificationService;
     private final FixedCostSubscriptionRepository fixedCostSubscriptionRepository;
     private final BirthdaySubscriptionRepository birthdaySubscriptionRepository;
+    private final CalendarYearSummaryStore yearSummaryStore;
+    private final CalendarOccurrenceJdbcRepository occurrenceRepository;
+    private final KeyedLockService lockService;
+    private final WorkoutStatsService workoutStatsService;
+    private final CalendarItemJdbcRepository itemJdbcRepository;
+    private final MeterRegistry meterRegistry;
 
     public CalendarServiceImpl(
             CalendarItemRepository itemRepository,
@@ -47,7 +86,13 @@ public class CalendarServiceImpl implements CalendarService {
             EventPublisher eventPublisher,
             NotificationService notificationService,
             FixedCostSubscriptionRepository fixedCostSubscriptionRepository,
-            BirthdaySubscriptionRepository birthdaySubscriptionRepository
+            BirthdaySubscriptionRepository birthdaySubscriptionRepository,
+            CalendarYearSummaryStore yearSummaryStore,
+            CalendarOccurrenceJdbcRepository occurrenceRepository,
+            KeyedLockService lockService,
+            WorkoutStatsService workoutStatsService,
+            CalendarItemJdbcRepository itemJdbcRepository,
+            MeterRegistry meterRegistry
     ) {
         this.itemRepository = itemRepository;
         this.monthCache = monthCache;
@@ -55,11 +100,21 @@ public class CalendarServiceImpl implements CalendarService {
         this.notificationService = notificationService;
         this.fixedCostSubscriptionRepository = fixedCostSubscriptionRepository;
         this.birthdaySubscriptionRepository = birthdaySubscriptionRepository;
+        this.yearSummaryStore = yearSummaryStore;
+        this.occurrenceRepository = occurrenceRepository;
+        this.lockService = lockService;
+        this.workoutStatsService = workoutStatsService;
+        this.itemJdbcRepository = itemJdbcRepository;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     @Transactional
     public CalendarItemView create(AppUser user, CreateCalendarItemCommand command) {
+        return timed("calendar.write", "create", command.type(), () -> createItem(user, command));
+    }
+
+    private CalendarItemView createItem(AppUser user, CreateCalendarItemCommand command) {
         validateTimes(command.startTime(), command.endTime());
 
         if (command.type() == CalendarItemType.FIXED_COST && command.amount() == null) {
@@ -85,8 +140,27 @@ public class CalendarServiceImpl implements CalendarService {
             item.setBirthdaySubscription(sub);
         }
 
-        CalendarItem saved = itemRepository.save(item);
-        evictMonth(user.getId(), YearMonth.from(saved.getDate()));
+        CalendarItem saved;
+        if (item.getFixedCostSubscription() != null || item.getBirthdaySubscription() != null) {
+            // Re-subscribing to an existing signature must not duplicate an occurrence. The insert skips on the unique
+            // (user, date, subscription) index, which also covers a concurrent read materializing the same row.
+            Optional<Long> id = occurrenceRepository.insertIfAbsent(item);
+            if (id.isEmpty()) {
+                return toView(existingOccurrence(user, item)
+                        .orElseThrow(() -> new IllegalStateException("Conflicting occurrence not found")));
+            }
+            saved = itemRepository.findById(id.get()).orElseThrow();
+        } else {
+            saved = itemRepository.save(item);
+        }
+        if (saved.getFixedCostSubscription() != null || saved.getBirthdaySubscription() != null) {
+            // A new subscription adds occurrences to months that are not materialized yet; rebuild on next read.
+            evictUserMonths(user.getId());
+            evictSummaryYear(user.getId(), saved.getDate().getYear());
+        } else {
+            evictMonth(user.getId(), YearMonth.from(saved.getDate()));
+            applySummary(saved, 1);
+        }
 
         eventPublisher.calendarItemEvent(NotificationType.ITEM_CREATED, saved);
         notificationService.create(new Notification(
@@ -100,9 +174,64 @@ public class CalendarServiceImpl implements CalendarService {
         return toView(saved);
     }
 
+    @Override
+    @Transactional
+    public List<Long> createAll(AppUser user, List<CreateCalendarItemCommand> commands) {
+        Set<CalendarItemType> types = commands.stream()
+                .map(CreateCalendarItemCommand::type)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return timed("calendar.write", "create_all", typesTag(types), () -> createItems(user, commands));
+    }
+
+    private List<Long> createItems(AppUser user, List<CreateCalendarItemCommand> commands) {
+        if (commands.isEmpty()) {
+            return List.of();
+        }
+        List<CalendarItem> items = new ArrayList<>(commands.size());
+        for (CreateCalendarItemCommand command : commands) {
+            validateTimes(command.startTime(), command.endTime());
+            if (command.type() == CalendarItemType.FIXED_COST || command.type() == CalendarItemType.BIRTHDAY) {
+                throw new BadRequestException(command.type() + " items cannot be created in bulk");
+            }
+            CalendarItem item = new CalendarItem(user, command.date(), command.type(), command.title());
+            item.setStartTime(command.startTime());
+            item.setEndTime(command.endTime());
+            item.setImportance(command.importance());
+            item.setLog(command.log());
+            item.setDone(command.done() != null && command.done());
+            item.setAmount(command.amount());
+            item.setSchoolKind(defaultSchoolKind(command.type(), command.schoolKind()));
+            items.add(item);
+        }
+
+        List<Long> ids = itemJdbcRepository.insertAll(items);
+        Set<YearMonth> months = new LinkedHashSet<>();
+        items.forEach(it -> months.add(YearMonth.from(it.getDate())));
+        evictMonths(user.getId(), months);
+        // Rebuilt from one grouped query on the next read instead of one incremental update per item.
+        evictSummaryYears(user, items);
+
+        LocalDate first = items.stream().map(CalendarItem::getDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate last = items.stream().map(CalendarItem::getDate).max(LocalDate::compareTo).orElseThrow();
+        eventPublisher.calendarItemsCreated(user.getId(), items.size(), first, last);
+        notificationService.create(new Notification(
+                user,
+                NotificationType.ITEM_CREATED,
+                items.get(0).getImportance(),
+                "Created " + items.size() + " items between " + first + " and " + last + ": " + items.get(0).getTitle(),
+                ids.get(0)
+        ));
+        return ids;
+    }
+
     @Override
     @Transactional
     public CalendarItemView update(AppUser user, Long id, UpdateCalendarItemCommand command) {
+        return timed("calendar.write", "update", command.type(), () -> updateItem(user, id, command));
+    }
+
+    private CalendarItemView updateItem(AppUser user, Long id, UpdateCalendarItemCommand command) {
         validateTimes(command.startTime(), command.endTime());
 
         if (command.type() == CalendarItemType.FIXED_COST && command.amount() == null) {
@@ -117,6 +246,10 @@ public class CalendarServiceImpl implements CalendarService {
         }
 
         YearMonth oldMonth = YearMonth.from(existing.getDate());
+        LocalDate oldDate = existing.getDate();
+        CalendarItemType oldType = existing.getType();
+        ImportanceLevel oldImportance = existing.getImportance();
+        boolean oldDone = existing.isDone();
 
         existing.setDate(command.date());
         existing.setStartTime(command.startTime());
@@ -144,10 +277,31 @@ public class CalendarServiceImpl implements CalendarService {
             existing.setBirthdaySubscription(null);
         }
 
-        CalendarItem saved = itemRepository.save(existing);
+        CalendarItem saved;
+        try {
+            saved = itemRepository.saveAndFlush(existing);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("An occurrence of this subscription already exists on " + command.date());
+        }
 
-        evictMonth(user.getId(), oldMonth);
-        evictMonth(user.getId(), YearMonth.from(saved.getDate()));
+        if (saved.getFixedCostSubscription() != null || saved.getBirthdaySubscription() != null) {
+            // The subscription sync rewrote future occurrences in months that are not listed here.
+            evictUserMonths(user.getId());
+        } else {
+            evictMonths(user.getId(), List.of(oldMonth, YearMonth.from(saved.getDate())));
+        }
+        boolean statsChanged = !oldDate.equals(saved.getDate()) || oldDone != saved.isDone() || oldType != saved.getType();
+        if (statsChanged && (oldType == CalendarItemType.WORKOUT || saved.getType() == CalendarItemType.WORKOUT)) {
+            // Stats count completed sessions only, so a move, a done flip or a type change alters them.
+            workoutStatsService.refreshWeeks(user, List.of(oldDate, saved.getDate()));
+        }
+        if (saved.getFixedCostSubscription() != null || saved.getBirthdaySubscription() != null) {
+            evictSummaryYear(user.getId(), oldDate.getYear());
+            evictSummaryYear(user.getId(), saved.getDate().getYear());
+        } else {
+            applySummary(user.getId(), oldDate, oldType, oldImportance, oldDone, -1);
+            applySummary(saved, 1);
+        }
 
         eventPublisher.calendarItemEvent(NotificationType.ITEM_UPDATED, saved);
         notificationService.create(new Notification(
@@ -166,6 +320,13 @@ public class CalendarServiceImpl implements CalendarService {
     public void delete(AppUser user, Long id) {
         CalendarItem existing = itemRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new NotFoundException("Calendar item not found"));
+        timed("calendar.write", "delete", existing.getType(), () -> {
+            deleteItem(user, existing);
+            return null;
+        });
+    }
+
+    private void deleteItem(AppUser user, CalendarItem existing) {
 
         if (isSystemHoliday(existing)) {
             throw new BadRequestException("Holiday items cannot be deleted");
@@ -179,6 +340,7 @@ public class CalendarServiceImpl implements CalendarService {
                 itemRepository.findByUserAndFixedCostSubscriptionAndDateBetween(user, sub, today, end)
             );
             itemRepository.deleteAll(future);
+            evictSummaryYears(user, future);
             sub.setActive(false);
             fixedCostSubscriptionRepository.save(sub);
 
@@ -189,7 +351,7 @@ public class CalendarServiceImpl implements CalendarService {
                 "Unsubscribed FIXED_COST: " + sub.getTitle(),
                 existing.getId()
             ));
-            evictMonth(user.getId(), YearMonth.from(existing.getDate()));
+            evictUserMonths(user.getId());
             return;
         }
 
@@ -201,6 +363,7 @@ public class CalendarServiceImpl implements CalendarService {
                 itemRepository.findByUserAndBirthdaySubscriptionAndDateBetween(user, sub, today, end)
             );
             itemRepository.deleteAll(future);
+            evictSummaryYears(user, future);
             sub.setActive(false);
             birthdaySubscriptionRepository.save(sub);
 
@@ -211,13 +374,14 @@ public class CalendarServiceImpl implements CalendarService {
                 "Unsubscribed BIRTHDAY: " + sub.getTitle(),
                 existing.getId()
             ));
-            evictMonth(user.getId(), YearMonth.from(existing.getDate()));
+            evictUserMonths(user.getId());
             return;
         }
 
         YearMonth month = YearMonth.from(existing.getDate());
         itemRepository.delete(existing);
         evictMonth(user.getId(), month);
+        applySummary(existing, -1);
 
         eventPublisher.calendarItemEvent(NotificationType.ITEM_DELETED, existing);
         notificationService.create(new Notification(
@@ -229,62 +393,249 @@ public class CalendarServiceImpl implements CalendarService {
         ));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CalendarItemView get(AppUser user, Long id) {
+        return itemRepository.findByIdAndUser(id, user)
+                .map(CalendarServiceImpl::toView)
+                .orElseThrow(() -> new NotFoundException("Calendar item not found"));
+    }
+
     @Override
     public List<CalendarItemView> listDay(AppUser user, LocalDate date, CalenderApp.demo.model.CalendarItemType type) {
-        if (type == null || type == CalendarItemType.FIXED_COST) {
-            ensureFixedCostOccurrences(user, YearMonth.from(date));
+        return timed("calendar.read", "day", type, () -> {
+            boolean inserted = ensureOccurrences(user, List.of(YearMonth.from(date)), typeSet(type));
+            return readAfter(inserted, () -> {
+                if (type == null) {
+                    return itemRepository.findViewsByUserAndDate(user, date);
+                }
+                return itemRepository.findViewsByUserAndDateAndType(user, date, type);
+            });
+        });
+    }
+
+    @Override
+    public Optional<String> monthVersion(AppUser user, YearMonth month) {
+        return monthCache.version(user.getId(), month);
+    }
+
+    @Override
+    public List<CalendarItemListView> listMonth(AppUser user, YearMonth month, Set<CalendarItemType> types) {
+        return timed("calendar.read", "month", typesTag(types), () -> {
+            ensureOccurrences(user, List.of(month), types);
+            return filterByTypes(cachedMonth(user, month), types);
+        });
+    }
+
+    @Override
+    public List<CalendarItemListView> listRange(AppUser user, LocalDate from, LocalDate to, Set<CalendarItemType> types) {
+        List<CalendarItemListView> items = new ArrayList<>();
+        forEachRangeChunk(user, from, to, types, items::addAll);
+        return items;
+    }
+
+    @Override
+    public void forEachRangeChunk(
+            AppUser user,
+            LocalDate from,
+            LocalDate to,
+            Set<CalendarItemType> types,
+            Consumer<List<CalendarItemListView>> chunkConsumer
+    ) {
+        timed("calendar.read", "range", typesTag(types), () -> {
+            streamRange(user, from, to, types, chunkConsumer);
+            return null;
+        });
+    }
+
+    private void streamRange(
+            AppUser user,
+            LocalDate from,
+            LocalDate to,
+            Set<CalendarItemType> types,
+            Consumer<List<CalendarItemListView>> chunkConsumer
+    ) {
+        validateRange(from, to);
+        List<YearMonth> months = monthsBetween(from, to);
+
+        // Materialize recurring items for the whole span up front, loading each subscription list once.
+        ensureOccurrences(user, months, types);
+
+        // Months are fetched a window at a time: one cache round-trip and at most one DB query per window,
+        // while the streaming endpoint still holds only a window in memory.
+        for (int i = 0; i < months.size(); i += RANGE_BATCH_MONTHS) {
+            List<YearMonth> window = months.subList(i, Math.min(i + RANGE_BATCH_MONTHS, months.size()));
+            Map<YearMonth, List<CalendarItemListView>> byMonth =
+                    monthCache.getOrLoadAll(user.getId(), window, missing -> loadMonths(user, missing));
+
+            for (YearMonth month : window) {
+                LocalDate start = from.isAfter(month.atDay(1)) ? from : month.atDay(1);
+                LocalDate end = to.isBefore(month.atEndOfMonth()) ? to : month.atEndOfMonth();
+                // Partial first/last months are cached whole and trimmed here.
+                List<CalendarItemListView> items = byMonth.getOrDefault(month, List.of()).stream()
+                        .filter(v -> !v.date().isBefore(start) && !v.date().isAfter(end))
+                        .toList();
+                chunkConsumer.accept(filterByTypes(items, types));
+            }
         }
-        if (type == null || type == CalendarItemType.BIRTHDAY) {
-            ensureBirthdayOccurrences(user, YearMonth.from(date));
+    }
+
+    @Override
+    public CalendarYearSummary summarizeYear(AppUser user, int year) {
+        return timed("calendar.read", "year", "all", () -> yearSummary(user, year));
+    }
+
+    private CalendarYearSummary yearSummary(AppUser user, int year) {
+        return yearSummaryStore.get(user.getId(), year)
+                .orElseGet(() -> {
+                    // Read before the database, so a write committed during the rebuild keeps it out of the store.
+                    Optional<String> version = yearSummaryStore.version(user.getId(), year);
+                    List<YearMonth> months = new ArrayList<>(12);
+                    for (int m = 1; m <= 12; m++) {
+                        months.add(YearMonth.of(year, m));
+                    }
+                    ensureOccurrences(user, months, null);
+
+                    CalendarYearSummary summary = CalendarYearSummary.empty(year);
+                    // Always from the primary: a rebuild from a lagging replica would be cached for hours.
+                    List<CalendarItemDayCount> rows = DataSourceRouting.onPrimary(
+                            () -> itemRepository.countByDay(user, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)));
+                    for (CalendarItemDayCount row : rows) {
+                        summary.add(row.date(), row.type(), row.importance(), Boolean.TRUE.equals(row.done()), row.count());
+                    }
+                    version.ifPresent(v -> yearSummaryStore.putIfUnchanged(user.getId(), summary, v));
+                    return summary;
+                });
+    }
+
+    private Map<YearMonth, List<CalendarItemListView>> loadMonths(AppUser user, List<YearMonth> months) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return queryMonths(user, months);
+        } finally {
+            sample.stop(meterRegistry.timer("calendar.month.db_load", "batch", "true"));
         }
-        if (type == null || type == CalendarItemType.OTHER) {
-            ensureNorwayHolidays(user, YearMonth.from(date));
+    }
+
+    // Cache fills read the primary: the cached month outlives replica lag, and would otherwise pin a stale month
+    // until the next eviction.
+    private Map<YearMonth, List<CalendarItemListView>> queryMonths(AppUser user, List<YearMonth> months) {
+        YearMonth first = months.get(0);
+        YearMonth last = months.get(months.size() - 1);
+        Map<YearMonth, List<CalendarItemListView>> byMonth = new HashMap<>();
+        for (YearMonth month : months) {
+            byMonth.put(month, new ArrayList<>());
+        }
+        List<CalendarItemListView> views = DataSourceRouting.onPrimary(
+                () -> itemRepository.findListViewsByUserAndDateBetween(user, first.atDay(1), last.atEndOfMonth()));
+        for (CalendarItemListView view : views) {
+            List<CalendarItemListView> bucket = byMonth.get(YearMonth.from(view.date()));
+            if (bucket != null) {
+                bucket.add(view);
+            }
         }
-        if (type == null) {
-            return itemRepository.findByUserAndDateOrderByStartTimeAsc(user, date)
-                    .stream()
-                    .map(CalendarServiceImpl::toView)
-                    .toList();
+        return byMonth;
+    }
+
+    private List<CalendarItemListView> cachedMonth(AppUser user, YearMonth month) {
+        return monthCache.getOrLoad(user.getId(), month, () -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                return DataSourceRouting.onPrimary(
+                        () -> itemRepository.findListViewsByUserAndDateBetween(user, month.atDay(1), month.atEndOfMonth()));
+            } finally {
+                sample.stop(meterRegistry.timer("calendar.month.db_load", "batch", "false"));
+            }
+        });
+    }
+
+    private static List<CalendarItemListView> filterByTypes(List<CalendarItemListView> items, Set<CalendarItemType> types) {
+        if (types == null || types.isEmpty()) {
+            return items;
         }
-        return itemRepository.findByUserAndDateAndTypeOrderByStartTimeAsc(user, date, type)
-                .stream()
-                .map(CalendarServiceImpl::toView)
-                .toList();
+        return items.stream().filter(v -> types.contains(v.type())).toList();
     }
 
     @Override
-    public List<CalendarItemView> listMonth(AppUser user, YearMonth month, CalenderApp.demo.model.CalendarItemType type) {
-        if (type == null || type == CalendarItemType.FIXED_COST) {
-            ensureFixedCostOccurrences(user, month);
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new BadRequestException("from and to are required");
         }
-        if (type == null || type == CalendarItemType.BIRTHDAY) {
-            ensureBirthdayOccurrences(user, month);
+        if (to.isBefore(from)) {
+            throw new BadRequestException("to must not be before from");
         }
-        if (type == null || type == CalendarItemType.OTHER) {
-            ensureNorwayHolidays(user, month);
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("range must not exceed " + MAX_RANGE_DAYS + " days");
         }
-        LocalDate start = month.atDay(1);
-        LocalDate end = month.atEndOfMonth();
-        if (type != null) {
-            return itemRepository.findByUserAndDateBetweenAndTypeOrderByDateAscStartTimeAsc(user, start, end, type)
-                    .stream()
-                    .map(CalendarServiceImpl::toView)
-                    .toList();
+    }
+
+    private static List<YearMonth> monthsBetween(LocalDate from, LocalDate to) {
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth m = YearMonth.from(from); !m.isAfter(YearMonth.from(to)); m = m.plusMonths(1)) {
+            months.add(m);
         }
+        return months;
+    }
 
-        return monthCache.get(user.getId(), month)
-                .orElseGet(() -> {
-                    List<CalendarItemView> items = itemRepository.findByUserAndDateBetweenOrderByDateAscStartTimeAsc(user, start, end)
-                            .stream()
-                            .map(CalendarServiceImpl::toView)
-                            .toList();
-                    monthCache.put(user.getId(), month, items);
-                    return items;
-                });
+    private static Set<CalendarItemType> typeSet(CalendarItemType type) {
+        return type == null ? null : Set.of(type);
+    }
+
+    private static boolean includesType(Set<CalendarItemType> types, CalendarItemType type) {
+        return types == null || types.isEmpty() || types.contains(type);
     }
 
     private void evictMonth(Long userId, YearMonth month) {
-        monthCache.evict(userId, month);
+        evictMonths(userId, List.of(month));
+    }
+
+    private void evictMonths(Long userId, Collection<YearMonth> months) {
+        if (months.isEmpty()) {
+            return;
+        }
+        // After commit, so a fill under the new version reads the committed rows.
+        afterCommit(() -> monthCache.evictAll(Map.of(userId, months)));
+    }
+
+    private void evictUserMonths(Long userId) {
+        afterCommit(() -> monthCache.evictUser(userId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String materializeLockKey(AppUser user) {
+        return "cal:materialize:" + user.getId();
+    }
+
+    private void applySummary(CalendarItem item, int delta) {
+        applySummary(item.getUser().getId(), item.getDate(), item.getType(), item.getImportance(), item.isDone(), delta);
+    }
+
+    // Summary writes wait for the commit, like month evictions: before it, a concurrent rebuild would not see the row.
+    private void applySummary(Long userId, LocalDate date, CalendarItemType type, ImportanceLevel importance, boolean done, int delta) {
+        afterCommit(() -> yearSummaryStore.apply(userId, date, type, importance, done, delta));
+    }
+
+    private void evictSummaryYear(Long userId, int year) {
+        afterCommit(() -> yearSummaryStore.evict(userId, year));
+    }
+
+    private void evictSummaryYears(AppUser user, List<CalendarItem> items) {
+        items.stream()
+                .map(it -> it.getDate().getYear())
+                .distinct()
+                .forEach(year -> evictSummaryYear(user.getId(), year));
     }
 
     private static void validateTimes(java.time.LocalTime start, java.time.LocalTime end) {
@@ -293,7 +644,7 @@ public class CalendarServiceImpl implements CalendarService {
         }
     }
 
-    private static CalendarItemView toView(CalendarItem item) {
+    static CalendarItemView toView(CalendarItem item) {
         FixedCostFrequency freq = null;
         if (item.getType() == CalendarItemType.FIXED_COST) {
             FixedCostSubscription sub = item.getFixedCostSubscription();
@@ -317,102 +668,184 @@ public class CalendarServiceImpl implements CalendarService {
         );
     }
 
-    private void ensureFixedCostOccurrences(AppUser user, YearMonth month) {
-        boolean createdAny = false;
+    /** @return true if any occurrence was inserted, so the following read must not come from a lagging replica */
+    private boolean ensureOccurrences(AppUser user, List<YearMonth> months, Set<CalendarItemType> types) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean inserted = false;
+        try {
+            // One materialization per user at a time; concurrent readers wait and then find nothing missing.
+            inserted = lockService.withLock(materializeLockKey(user), () -> materializeOccurrences(user, months, types));
+            return inserted;
+        } finally {
+            // Includes the wait for the user's materialization lock.
+            sample.stop(meterRegistry.timer("calendar.occurrences.ensure", "inserted", String.valueOf(inserted)));
+        }
+    }
 
-        for (FixedCostSubscription sub : fixedCostSubscriptionRepository.findByUserAndActiveTrue(user)) {
-            FixedCostFrequency freq = effectiveFrequency(sub);
+    /**
+     * Times {@code action} as {@code name} with low-cardinality tags: the operation, one item type (or "all" /
+     * "multiple") and whether it threw.
+     */
+    private <T> T timed(String name, String operation, CalendarItemType type, Supplier<T> action) {
+        return timed(name, operation, type == null ? "all" : type.name(), action);
+    }
 
-            if (freq == FixedCostFrequency.YEARLY) {
-                Integer mo = sub.getMonthOfYear();
-                if (mo == null || mo != month.getMonthValue()) {
-                    continue;
-                }
-            }
+    private <T> T timed(String name, String operation, String type, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer(name, "operation", operation, "type", type, "outcome", outcome));
+        }
+    }
 
-            if (freq == FixedCostFrequency.WEEKLY) {
-                int dowVal = sub.getDayOfWeek() != null ? sub.getDayOfWeek() : DayOfWeek.MONDAY.getValue();
-                DayOfWeek dow = DayOfWeek.of(dowVal);
-                LocalDate cursor = month.atDay(1).with(TemporalAdjusters.nextOrSame(dow));
-                while (YearMonth.from(cursor).equals(month)) {
-                    if (!itemRepository.existsByUserAndFixedCostSubscriptionAndDate(user, sub, cursor)) {
-                        CalendarItem item = new CalendarItem(user, cursor, CalendarItemType.FIXED_COST, sub.getTitle());
-                        item.setAmount(sub.getAmount());
-                        item.setImportance(CalenderApp.demo.model.ImportanceLevel.MEDIUM);
-                        item.setFixedCostSubscription(sub);
-                        itemRepository.save(item);
-                        createdAny = true;
-                    }
-                    cursor = cursor.plusWeeks(1);
-                }
-                continue;
-            }
+    private static String typesTag(Set<CalendarItemType> types) {
+        if (types == null || types.isEmpty()) {
+            return "all";
+        }
+        return types.size() == 1 ? types.iterator().next().name() : "multiple";
+    }
 
-            int dom = sub.getDayOfMonth();
-            int capped = Math.min(dom, month.lengthOfMonth());
-            LocalDate date = month.atDay(capped);
-            if (itemRepository.existsByUserAndFixedCostSubscriptionAndDate(user, sub, date)) {
-                continue;
-            }
+    private static <T> T readAfter(boolean inserted, Supplier<T> read) {
+        return inserted ? DataSourceRouting.onPrimary(read) : read.get();
+    }
 
-            CalendarItem item = new CalendarItem(user, date, CalendarItemType.FIXED_COST, sub.getTitle());
-            item.setAmount(sub.getAmount());
-            item.setImportance(CalenderApp.demo.model.ImportanceLevel.MEDIUM);
-            item.setFixedCostSubscription(sub);
-            itemRepository.save(item);
-            createdAny = true;
+    private boolean materializeOccurrences(AppUser user, List<YearMonth> months, Set<CalendarItemType> types) {
+        List<CalendarItem> candidates = new ArrayList<>();
+        if (includesType(types, CalendarItemType.FIXED_COST)) {
+            fixedCostOccurrences(user, months, candidates);
+        }
+        if (includesType(types, CalendarItemType.BIRTHDAY)) {
+            birthdayOccurrences(user, months, candidates);
+        }
+        if (includesType(types, CalendarItemType.OTHER)) {
+            norwayHolidays(user, months, candidates);
+        }
+        if (candidates.isEmpty()) {
+            return false;
         }
 
-        if (createdAny) {
-            evictMonth(user.getId(), month);
+        // One lookup for the whole span, then a single batched insert; concurrent readers that pass the
+        // same check are absorbed by the unique indexes (ON CONFLICT ... DO NOTHING) rather than creating duplicates.
+        Set<String> existing = occurrenceRepository.existingKeys(
+                user.getId(), months.get(0).atDay(1), months.get(months.size() - 1).atEndOfMonth());
+        List<CalendarItem> missing = candidates.stream()
+                .filter(item -> !existing.contains(CalendarOccurrenceJdbcRepository.keyOf(item)))
+                .toList();
+        if (missing.isEmpty()) {
+            return false;
         }
-    }
 
-    private void ensureNorwayHolidays(AppUser user, YearMonth month) {
-        boolean createdAny = false;
-        for (NorwayHolidays.Holiday h : NorwayHolidays.forYear(month.getYear())) {
-            if (!YearMonth.from(h.date()).equals(month)) {
+        int[] counts = occurrenceRepository.insertIgnoringConflicts(missing);
+        Set<YearMonth> touched = new HashSet<>();
+        Set<Integer> unknownYears = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            CalendarItem item = missing.get(i);
+            if (counts[i] > 0) {
+                applySummary(item, 1);
+            } else if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                unknownYears.add(item.getDate().getYear());
+            } else {
                 continue;
             }
-            if (itemRepository.existsByUserAndDateAndTypeAndTitle(user, h.date(), CalendarItemType.OTHER, h.title())) {
-                continue;
-            }
-            CalendarItem item = new CalendarItem(user, h.date(), CalendarItemType.OTHER, h.title());
-            item.setImportance(CalenderApp.demo.model.ImportanceLevel.LOW);
-            itemRepository.save(item);
-            createdAny = true;
+            touched.add(YearMonth.from(item.getDate()));
         }
-        if (createdAny) {
-            evictMonth(user.getId(), month);
+
+        for (Integer year : unknownYears) {
+            evictSummaryYear(user.getId(), year);
         }
+        evictMonths(user.getId(), touched);
+        return !touched.isEmpty();
     }
 
-    private void ensureBirthdayOccurrences(AppUser user, YearMonth month) {
-        boolean createdAny = false;
+    private void fixedCostOccurrences(AppUser user, List<YearMonth> months, List<CalendarItem> out) {
+        expandFixedCosts(user, fixedCostSubscriptionRepository.findByUserAndActiveTrue(user), months, out);
+    }
 
-        for (BirthdaySubscription sub : birthdaySubscriptionRepository.findByUserAndActiveTrue(user)) {
-            if (sub.getMonth() != month.getMonthValue()) {
-                continue;
+    // Package-private, like the other pure helpers below, so the JMH benchmarks (src/jmh) can call them.
+    static void expandFixedCosts(AppUser user, List<FixedCostSubscription> subs, List<YearMonth> months, List<CalendarItem> out) {
+        for (YearMonth month : months) {
+            for (FixedCostSubscription sub : subs) {
+                for (LocalDate date : fixedCostOccurrenceDates(sub, month)) {
+                    CalendarItem item = new CalendarItem(user, date, CalendarItemType.FIXED_COST, sub.getTitle());
+                    item.setAmount(sub.getAmount());
+                    item.setImportance(CalenderApp.demo.model.ImportanceLevel.MEDIUM);
+                    item.setFixedCostSubscription(sub);
+                    out.add(item);
+                }
+            }
+        }
+    }
+
+    static List<LocalDate> fixedCostOccurrenceDates(FixedCostSubscription sub, YearMonth month) {
+        FixedCostFrequency freq = effectiveFrequency(sub);
+
+        if (freq == FixedCostFrequency.YEARLY) {
+            Integer mo = sub.getMonthOfYear();
+            if (mo == null || mo != month.getMonthValue()) {
+                return List.of();
+            }
+        }
+
+        if (freq == FixedCostFrequency.WEEKLY) {
+            int dowVal = sub.getDayOfWeek() != null ? sub.getDayOfWeek() : DayOfWeek.MONDAY.getValue();
+            DayOfWeek dow = DayOfWeek.of(dowVal);
+            List<LocalDate> dates = new ArrayList<>(5);
+            LocalDate cursor = month.atDay(1).with(TemporalAdjusters.nextOrSame(dow));
+            while (YearMonth.from(cursor).equals(month)) {
+                dates.add(cursor);
+                cursor = cursor.plusWeeks(1);
             }
+            return dates;
+        }
 
-            int dom = sub.getDayOfMonth();
-            int capped = Math.min(dom, month.lengthOfMonth());
-            LocalDate date = month.atDay(capped);
+        int capped = Math.min(sub.getDayOfMonth(), month.lengthOfMonth());
+        return List.of(month.atDay(capped));
+    }
 
-            if (itemRepository.existsByUserAndBirthdaySubscriptionAndDate(user, sub, date)) {
-                continue;
+    static void norwayHolidays(AppUser user, List<YearMonth> months, List<CalendarItem> out) {
+        Map<Integer, List<NorwayHolidays.Holiday>> byYear = new HashMap<>();
+        for (YearMonth month : months) {
+            for (NorwayHolidays.Holiday h : byYear.computeIfAbsent(month.getYear(), NorwayHolidays::forYear)) {
+                if (!YearMonth.from(h.date()).equals(month)) {
+                    continue;
+                }
+                CalendarItem item = new CalendarItem(user, h.date(), CalendarItemType.OTHER, h.title());
+                item.setImportance(CalenderApp.demo.model.ImportanceLevel.LOW);
+                item.setSystemKey(h.title());
+                out.add(item);
             }
+        }
+    }
 
-            CalendarItem item = new CalendarItem(user, date, CalendarItemType.BIRTHDAY, sub.getTitle());
-            item.setImportance(CalenderApp.demo.model.ImportanceLevel.LOW);
-            item.setBirthdaySubscription(sub);
-            itemRepository.save(item);
-            createdAny = true;
+    private void birthdayOccurrences(AppUser user, List<YearMonth> months, List<CalendarItem> out) {
+        List<BirthdaySubscription> subs = birthdaySubscriptionRepository.findByUserAndActiveTrue(user);
+        for (YearMonth month : months) {
+            for (BirthdaySubscription sub : subs) {
+                if (sub.getMonth() != month.getMonthValue()) {
+                    continue;
+                }
+
+                int capped = Math.min(sub.getDayOfMonth(), month.lengthOfMonth());
+                CalendarItem item = new CalendarItem(user, month.atDay(capped), CalendarItemType.BIRTHDAY, sub.getTitle());
+                item.setImportance(CalenderApp.demo.model.ImportanceLevel.LOW);
+                item.setBirthdaySubscription(sub);
+                out.add(item);
+            }
         }
+    }
 
-        if (createdAny) {
-            evictMonth(user.getId(), month);
+    private java.util.Optional<CalendarItem> existingOccurrence(AppUser user, CalendarItem item) {
+        if (item.getFixedCostSubscription() != null) {
+            return itemRepository.findFirstByUserAndFixedCostSubscriptionAndDate(user, item.getFixedCostSubscription(), item.getDate());
+        }
+        if (item.getBirthdaySubscription() != null) {
+            return itemRepository.findFirstByUserAndBirthdaySubscriptionAndDate(user, item.getBirthdaySubscription(), item.getDate());
         }
+        return java.util.Optional.empty();
     }
 
     private static boolean isSystemHoliday(CalendarItem item) {
@@ -26,8 +26,9 @@ public class FixedCostDueNotificationScheduler {
     public void notifyFixedCostsDueToday() {
         LocalDate today = LocalDate.now();
         for (CalendarItem item : itemRepository.findByDateAndTypeAndNotifiedFalse(today, CalendarItemType.FIXED_COST)) {
-            item.setNotified(true);
-            itemRepository.save(item);
+            if (itemRepository.markNotified(item.getId()) == 0) {
+                continue;
+            }
 
             notificationService.create(new Notification(
                     item.getUser(),
@@ -6,30 +6,38 @@ import CalenderApp.demo.model.Notification;
 import CalenderApp.demo.model.NotificationType;
 import CalenderApp.demo.service.EventPublisher;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Objects;
 import java.util.UUID;
 
 @Service
+@ConditionalOnProperty(name = "app.events.mode", havingValue = "kafka", matchIfMissing = true)
 public class KafkaEventPublisher implements EventPublisher {
 
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
     private final String calendarTopic;
     private final String notificationTopic;
+    private final MeterRegistry meterRegistry;
 
     public KafkaEventPublisher(
             KafkaTemplate<String, String> kafkaTemplate,
             @Value("${app.kafka.topic.calendar:calendar.events}") String calendarTopic,
-            @Value("${app.kafka.topic.notification:calendar.notifications}") String notificationTopic
+            @Value("${app.kafka.topic.notification:calendar.notifications}") String notificationTopic,
+            MeterRegistry meterRegistry
     ) {
         this.kafkaTemplate = kafkaTemplate;
         this.calendarTopic = calendarTopic;
         this.notificationTopic = notificationTopic;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -47,6 +55,22 @@ public class KafkaEventPublisher implements EventPublisher {
         RawWebSocketServer.broadcastJson(event);
     }
 
+    @Override
+    public void calendarItemsCreated(Long userId, int count, LocalDate firstDate, LocalDate lastDate) {
+        CalendarItemsEvent event = new CalendarItemsEvent(
+                UUID.randomUUID().toString(),
+                NotificationType.ITEM_CREATED,
+                userId,
+                count,
+                firstDate.toString(),
+                lastDate.toString(),
+                Instant.now().toString()
+        );
+
+        publish(calendarTopic, "user-" + userId, event);
+        RawWebSocketServer.broadcastJson(event);
+    }
+
     @Override
     public void notificationCreated(Notification notification) {
         NotificationEvent event = new NotificationEvent(
@@ -64,12 +88,20 @@ public class KafkaEventPublisher implements EventPublisher {
     }
 
     private void publish(String topic, String key, Object payload) {
+        // events.publish: time spent on the request thread (serialize + hand-off, or blocking on metadata when the
+        // broker is unreachable); events.delivery: the broker's acknowledgement, counted when it arrives.
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
             String safeTopic = Objects.requireNonNull(topic, "topic");
             String safeKey = Objects.requireNonNull(key, "key");
             String json = Objects.requireNonNull(mapper.writeValueAsString(payload));
-            kafkaTemplate.send(safeTopic, safeKey, json);
+            kafkaTemplate.send(safeTopic, safeKey, json).whenComplete((result, ex) ->
+                    meterRegistry.counter("events.delivery", "topic", safeTopic, "outcome", ex == null ? "success" : "error").increment());
+            outcome = "success";
         } catch (Exception ignored) {
+        } finally {
+            sample.stop(meterRegistry.timer("events.publish", "topic", String.valueOf(topic), "outcome", outcome));
         }
     }
 
@@ -83,6 +115,17 @@ public class KafkaEventPublisher implements EventPublisher {
     ) {
     }
 
+    public record CalendarItemsEvent(
+            String eventId,
+            NotificationType type,
+            Long userId,
+            int count,
+            String fromDate,
+            String toDate,
+            String occurredAt
+    ) {
+    }
+
     public record NotificationEvent(
             String eventId,
             NotificationType type,
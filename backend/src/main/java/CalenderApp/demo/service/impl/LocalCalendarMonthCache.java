@@ -0,0 +1,171 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.config.redis.VersionTokens;
+import CalenderApp.demo.service.CalendarMonthCache;
+import CalenderApp.demo.service.view.CalendarItemListView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-process stand-in for {@link RedisCalendarMonthCache} ({@code app.cache.mode=local}), for running and
+ * load-testing without Redis. Same version scheme: evicting a month swaps its token and {@link #evictUser} swaps the
+ * user's generation, and a load that started before the eviction writes under the retired token. Single node only;
+ * there is no size bound beyond the TTL.
+ */
+@Service
+@ConditionalOnProperty(name = "app.cache.mode", havingValue = "local")
+public class LocalCalendarMonthCache implements CalendarMonthCache {
+
+    private static final long TTL_MS = 10 * 60 * 1000L;
+
+    private final ConcurrentHashMap<Long, Generation> generations = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public LocalCalendarMonthCache(MeterRegistry meterRegistry) {
+        this.hits = meterRegistry.counter("calendar.month_cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("calendar.month_cache.requests", "result", "miss");
+    }
+
+    @Override
+    public Optional<List<CalendarItemListView>> get(Long userId, YearMonth month) {
+        return Optional.ofNullable(current(userId).get(month));
+    }
+
+    @Override
+    public Optional<String> version(Long userId, YearMonth month) {
+        Generation generation = current(userId);
+        return Optional.of(generation.token() + ":m" + generation.monthToken(month));
+    }
+
+    @Override
+    public List<CalendarItemListView> getOrLoad(Long userId, YearMonth month, Supplier<List<CalendarItemListView>> loader) {
+        Generation generation = current(userId);
+        String monthToken = generation.monthToken(month);
+        List<CalendarItemListView> cached = generation.get(month, monthToken);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        List<CalendarItemListView> items = loader.get();
+        generation.put(month, monthToken, items);
+        return items;
+    }
+
+    @Override
+    public Map<YearMonth, List<CalendarItemListView>> getOrLoadAll(
+            Long userId,
+            List<YearMonth> months,
+            Function<List<YearMonth>, Map<YearMonth, List<CalendarItemListView>>> loader
+    ) {
+        Map<YearMonth, List<CalendarItemListView>> result = new LinkedHashMap<>();
+        if (months.isEmpty()) {
+            return result;
+        }
+        Generation generation = current(userId);
+        Map<YearMonth, String> missingTokens = new LinkedHashMap<>();
+        for (YearMonth month : months) {
+            String monthToken = generation.monthToken(month);
+            List<CalendarItemListView> cached = generation.get(month, monthToken);
+            if (cached != null) {
+                hits.increment();
+                result.put(month, cached);
+            } else {
+                misses.increment();
+                missingTokens.put(month, monthToken);
+            }
+        }
+        if (missingTokens.isEmpty()) {
+            return result;
+        }
+
+        Map<YearMonth, List<CalendarItemListView>> loaded = loader.apply(new ArrayList<>(missingTokens.keySet()));
+        loaded.forEach((month, items) -> {
+            String monthToken = missingTokens.get(month);
+            if (monthToken != null) {
+                generation.put(month, monthToken, items);
+            }
+        });
+        for (YearMonth month : months) {
+            result.computeIfAbsent(month, m -> loaded.getOrDefault(m, List.of()));
+        }
+        return result;
+    }
+
+    @Override
+    public void evict(Long userId, YearMonth month) {
+        evictAll(Map.of(userId, List.of(month)));
+    }
+
+    @Override
+    public void evictAll(Map<Long, ? extends Collection<YearMonth>> monthsByUser) {
+        monthsByUser.forEach((userId, months) -> {
+            Generation generation = generations.get(userId);
+            if (generation != null) {
+                months.forEach(generation::evict);
+            }
+        });
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        generations.put(userId, new Generation(VersionTokens.newToken()));
+    }
+
+    private Generation current(Long userId) {
+        return generations.computeIfAbsent(userId, id -> new Generation(VersionTokens.newToken()));
+    }
+
+    private record Generation(String token, ConcurrentHashMap<YearMonth, String> monthTokens, ConcurrentHashMap<YearMonth, Entry> months) {
+
+        Generation(String token) {
+            this(token, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        String monthToken(YearMonth month) {
+            return monthTokens.computeIfAbsent(month, m -> VersionTokens.newToken());
+        }
+
+        List<CalendarItemListView> get(YearMonth month, String monthToken) {
+            Entry entry = months.get(month);
+            if (entry == null || !entry.monthToken().equals(monthToken)) {
+                return null;
+            }
+            if (entry.expiresAtMs() < System.currentTimeMillis()) {
+                months.remove(month, entry);
+                return null;
+            }
+            return entry.items();
+        }
+
+        // Dropped when the month was evicted after the load read its token.
+        void put(YearMonth month, String monthToken, List<CalendarItemListView> items) {
+            if (monthToken.equals(monthTokens.get(month))) {
+                months.put(month, new Entry(List.copyOf(items), System.currentTimeMillis() + TTL_MS, monthToken));
+            }
+        }
+
+        void evict(YearMonth month) {
+            monthTokens.put(month, VersionTokens.newToken());
+            months.remove(month);
+        }
+    }
+
+    private record Entry(List<CalendarItemListView> items, long expiresAtMs, String monthToken) {
+    }
+}
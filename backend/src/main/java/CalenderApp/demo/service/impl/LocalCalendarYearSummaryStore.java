@@ -0,0 +1,59 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.ImportanceLevel;
+import CalenderApp.demo.service.CalendarYearSummaryStore;
+import CalenderApp.demo.service.view.CalendarYearSummary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** In-process stand-in for {@link RedisCalendarYearSummaryStore} ({@code app.cache.mode=local}); holds packed bytes like Redis does. */
+@Service
+@ConditionalOnProperty(name = "app.cache.mode", havingValue = "local")
+public class LocalCalendarYearSummaryStore implements CalendarYearSummaryStore {
+
+    private final ConcurrentHashMap<String, byte[]> summaries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<CalendarYearSummary> get(Long userId, int year) {
+        byte[] packed = summaries.get(key(userId, year));
+        return packed == null ? Optional.empty() : Optional.of(CalendarYearSummary.fromBytes(year, packed));
+    }
+
+    @Override
+    public Optional<String> version(Long userId, int year) {
+        return Optional.of(String.valueOf(versions.getOrDefault(key(userId, year), 0L)));
+    }
+
+    @Override
+    public void putIfUnchanged(Long userId, CalendarYearSummary summary, String version) {
+        // Writers bump the version before touching the summary, so a bump missed here is followed by its update.
+        summaries.compute(key(userId, summary.year()), (key, packed) ->
+                packed == null && String.valueOf(versions.getOrDefault(key, 0L)).equals(version) ? summary.toBytes() : packed);
+    }
+
+    @Override
+    public void apply(Long userId, LocalDate date, CalendarItemType type, ImportanceLevel importance, boolean done, int delta) {
+        versions.merge(key(userId, date.getYear()), 1L, Long::sum);
+        summaries.computeIfPresent(key(userId, date.getYear()), (key, packed) -> {
+            CalendarYearSummary summary = CalendarYearSummary.fromBytes(date.getYear(), packed);
+            summary.add(date, type, importance, done, delta);
+            return summary.toBytes();
+        });
+    }
+
+    @Override
+    public void evict(Long userId, int year) {
+        versions.merge(key(userId, year), 1L, Long::sum);
+        summaries.remove(key(userId, year));
+    }
+
+    private static String key(Long userId, int year) {
+        return userId + ":" + year;
+    }
+}
@@ -0,0 +1,72 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.config.RawWebSocketServer;
+import CalenderApp.demo.model.CalendarItem;
+import CalenderApp.demo.model.Notification;
+import CalenderApp.demo.model.NotificationType;
+import CalenderApp.demo.service.EventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Stand-in for {@link KafkaEventPublisher} ({@code app.events.mode=local}): the same events go to the WebSocket
+ * clients, nothing is sent to a broker. Publishes are counted in {@code events.publish.local}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.events.mode", havingValue = "local")
+public class LocalEventPublisher implements EventPublisher {
+
+    private final MeterRegistry meterRegistry;
+
+    public LocalEventPublisher(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void calendarItemEvent(NotificationType type, CalendarItem item) {
+        publish("calendar", new KafkaEventPublisher.CalendarItemEvent(
+                UUID.randomUUID().toString(),
+                type,
+                item.getUser().getId(),
+                item.getId(),
+                item.getDate().toString(),
+                Instant.now().toString()
+        ));
+    }
+
+    @Override
+    public void calendarItemsCreated(Long userId, int count, LocalDate firstDate, LocalDate lastDate) {
+        publish("calendar", new KafkaEventPublisher.CalendarItemsEvent(
+                UUID.randomUUID().toString(),
+                NotificationType.ITEM_CREATED,
+                userId,
+                count,
+                firstDate.toString(),
+                lastDate.toString(),
+                Instant.now().toString()
+        ));
+    }
+
+    @Override
+    public void notificationCreated(Notification notification) {
+        publish("notification", new KafkaEventPublisher.NotificationEvent(
+                UUID.randomUUID().toString(),
+                notification.getType(),
+                notification.getUser().getId(),
+                notification.getId(),
+                notification.getCalendarItemId(),
+                notification.getMessage(),
+                notification.getCreatedAt().toString()
+        ));
+    }
+
+    private void publish(String topic, Object event) {
+        meterRegistry.counter("events.publish.local", "topic", topic).increment();
+        RawWebSocketServer.broadcastJson(event);
+    }
+}
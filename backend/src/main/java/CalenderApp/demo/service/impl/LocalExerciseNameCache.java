@@ -0,0 +1,69 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.repository.ExerciseName;
+import CalenderApp.demo.repository.ExerciseRepository;
+import CalenderApp.demo.service.ExerciseNameCache;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-node map per user, for the most recently active users. Exercises cannot be renamed, and one that is still
+ * referenced by an entry cannot be deleted, so entries never go stale and other nodes need no invalidation;
+ * misses are filled with one IN query.
+ */
+@Service
+public class LocalExerciseNameCache implements ExerciseNameCache {
+
+    private static final int MAX_USERS = 1024;
+
+    private final ExerciseRepository exerciseRepository;
+    private final Map<Long, Map<Long, String>> byUser = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Map<Long, String>> eldest) {
+            return size() > MAX_USERS;
+        }
+    });
+
+    public LocalExerciseNameCache(ExerciseRepository exerciseRepository) {
+        this.exerciseRepository = exerciseRepository;
+    }
+
+    @Override
+    public Map<Long, String> names(AppUser user, Collection<Long> exerciseIds) {
+        Map<Long, String> cached = byUser.computeIfAbsent(user.getId(), id -> new ConcurrentHashMap<>());
+        Map<Long, String> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : exerciseIds) {
+            String name = cached.get(id);
+            if (name != null) {
+                result.put(id, name);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (ExerciseName row : exerciseRepository.findNamesByUserAndIdIn(user, missing)) {
+                cached.put(row.id(), row.name());
+                result.put(row.id(), row.name());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void evict(Long userId, Long exerciseId) {
+        Map<Long, String> cached = byUser.get(userId);
+        if (cached != null) {
+            cached.remove(exerciseId);
+        }
+    }
+}
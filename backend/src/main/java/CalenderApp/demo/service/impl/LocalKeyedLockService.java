@@ -0,0 +1,64 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.service.KeyedLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process striped locks: keys hash onto a fixed array of {@link ReentrantLock}s, so memory stays bounded
+ * no matter how many users or months are seen. Unrelated keys may share a stripe, which only costs some waiting.
+ */
+@Service
+@ConditionalOnProperty(name = "app.locks.mode", havingValue = "local", matchIfMissing = true)
+public class LocalKeyedLockService implements KeyedLockService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalKeyedLockService.class);
+
+    private final ReentrantLock[] stripes;
+    private final long waitMs;
+
+    public LocalKeyedLockService(
+            @Value("${app.locks.stripes:256}") int stripes,
+            @Value("${app.locks.waitMs:5000}") long waitMs
+    ) {
+        this.stripes = new ReentrantLock[Math.max(1, stripes)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.waitMs = waitMs;
+    }
+
+    @Override
+    public <T> T withLock(String key, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(key);
+        boolean acquired = false;
+        try {
+            acquired = lock.tryLock(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!acquired) {
+            log.warn("Lock wait timed out for {}; continuing without it", key);
+        }
+        try {
+            return action.get();
+        } finally {
+            if (acquired) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[Math.floorMod(h, stripes.length)];
+    }
+}
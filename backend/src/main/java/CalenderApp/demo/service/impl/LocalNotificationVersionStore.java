@@ -0,0 +1,27 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.config.redis.VersionTokens;
+import CalenderApp.demo.service.NotificationVersionStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** In-process stand-in for {@link RedisNotificationVersionStore} ({@code app.cache.mode=local}). */
+@Service
+@ConditionalOnProperty(name = "app.cache.mode", havingValue = "local")
+public class LocalNotificationVersionStore implements NotificationVersionStore {
+
+    private final ConcurrentHashMap<Long, String> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<String> current(Long userId) {
+        return Optional.of(versions.computeIfAbsent(userId, id -> VersionTokens.newToken()));
+    }
+
+    @Override
+    public void bump(Long userId) {
+        versions.put(userId, VersionTokens.newToken());
+    }
+}
@@ -5,25 +5,42 @@ import CalenderApp.demo.model.Notification;
 import CalenderApp.demo.repository.NotificationRepository;
 import CalenderApp.demo.service.EventPublisher;
 import CalenderApp.demo.service.NotificationService;
+import CalenderApp.demo.service.NotificationVersionStore;
 import CalenderApp.demo.service.exception.NotFoundException;
 import CalenderApp.demo.service.view.NotificationView;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final EventPublisher eventPublisher;
+    private final NotificationVersionStore versionStore;
 
-    public NotificationServiceImpl(NotificationRepository notificationRepository, EventPublisher eventPublisher) {
+    public NotificationServiceImpl(
+            NotificationRepository notificationRepository,
+            EventPublisher eventPublisher,
+            NotificationVersionStore versionStore
+    ) {
         this.notificationRepository = notificationRepository;
         this.eventPublisher = eventPublisher;
+        this.versionStore = versionStore;
     }
 
     @Override
+    public Optional<String> version(AppUser user) {
+        return versionStore.current(user.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<NotificationView> listUnread(AppUser user) {
         return notificationRepository.findByUserAndReadFalseOrderByCreatedAtDesc(user)
                 .stream()
@@ -32,6 +49,7 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<NotificationView> listAll(AppUser user) {
         return notificationRepository.findByUserOrderByCreatedAtDesc(user)
                 .stream()
@@ -45,6 +63,7 @@ public class NotificationServiceImpl implements NotificationService {
                 .orElseThrow(() -> new NotFoundException("Notification not found"));
         notification.markRead();
         notificationRepository.save(notification);
+        bumpVersion(user.getId());
         return toView(notification);
     }
 
@@ -53,9 +72,24 @@ public class NotificationServiceImpl implements NotificationService {
         Objects.requireNonNull(notification, "notification");
         Notification saved = Objects.requireNonNull(notificationRepository.save(notification));
         eventPublisher.notificationCreated(saved);
+        bumpVersion(saved.getUser().getId());
         return toView(saved);
     }
 
+    // After commit, so a request that sees the new version also sees the row.
+    private void bumpVersion(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versionStore.bump(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versionStore.bump(userId);
+            }
+        });
+    }
+
     private static NotificationView toView(Notification notification) {
         return new NotificationView(
                 notification.getId(),
@@ -1,64 +1,329 @@
 package CalenderApp.demo.service.impl;
 
+import CalenderApp.demo.config.redis.RedisCommandExecutor;
+import CalenderApp.demo.config.redis.VersionTokens;
 import CalenderApp.demo.service.CalendarMonthCache;
-import CalenderApp.demo.service.view.CalendarItemView;
-import com.fasterxml.jackson.core.type.TypeReference;
+import CalenderApp.demo.service.view.CalendarItemListView;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
 
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * Month lists in Redis under {@code cal:month:list:{userId}:e{epoch}:v{version}:m{monthVersion}:{month}}; the
+ * epoch is {@link RedisCommandExecutor#EPOCH_KEY}, bumped after a Redis outage.
+ * <p>
+ * Evicting a month replaces its version token ({@code cal:month:ver:{userId}:{month}}, see {@link VersionTokens})
+ * instead of deleting a key; {@link #evictUser} replaces the user's token ({@code cal:month:ver:{userId}}), which
+ * retires every month at once. A load that read the versions before an eviction writes to a key nobody reads
+ * anymore, so a stale put cannot resurrect old data; the same versions serve as the month ETag. Loads are single-flight per
+ * node, and entries are refreshed early with probability rising towards expiry (XFetch), so a popular month is
+ * usually recomputed by one request before it expires for everyone. Multi-month reads, writes and evictions each
+ * take one round-trip (Lua MGET, pipelined SETEX).
+ */
 @Service
+@ConditionalOnProperty(name = "app.cache.mode", havingValue = "redis", matchIfMissing = true)
 public class RedisCalendarMonthCache implements CalendarMonthCache {
 
-    private static final String PREFIX = "cal:month:";
+    // "list" segment: entries hold CalendarItemListView; older full-view entries are simply never read.
+    private static final String PREFIX = "cal:month:list:";
+    private static final String VERSION_PREFIX = "cal:month:ver:";
+    private static final int TTL_SECONDS = 60 * 10;
+    private static final int VERSION_TTL_SECONDS = 60 * 60 * 24;
+    // XFetch beta; above 1 favours earlier refreshes.
+    private static final double EARLY_REFRESH_BETA = 1.0;
 
-    private final JedisPool jedisPool;
-    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    // KEYS[3..] are month version keys, resolved like the user's; leaves 'e..:v..:m..' per month in gens.
+    private static final String RESOLVE_MONTHS = VersionTokens.RESOLVE_GENERATION + """
+            local gens = {}
+            for i = 3, #KEYS do
+              local mv = redis.call('GET', KEYS[i])
+              if not mv then
+                mv = ARGV[1]
+                redis.call('SET', KEYS[i], mv, 'EX', ARGV[2])
+              end
+              gens[#gens + 1] = g .. ':m' .. mv
+            end
+            """;
+    private static final String VERSION_SCRIPT = RESOLVE_MONTHS + "return gens[1]";
+    // Resolves each month's generation and MGETs every requested month under it in one round-trip.
+    private static final String LOOKUP_SCRIPT = RESOLVE_MONTHS + """
+            local keys = {}
+            for i = 1, #gens do
+              keys[i] = ARGV[3] .. gens[i] .. ':' .. ARGV[i + 3]
+            end
+            return {gens, redis.call('MGET', unpack(keys))}
+            """;
 
-    public RedisCalendarMonthCache(JedisPool jedisPool) {
-        this.jedisPool = jedisPool;
+    private final RedisCommandExecutor redis;
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+    private final ConcurrentHashMap<String, CompletableFuture<List<CalendarItemListView>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter earlyRefreshes;
+    private final Counter collapsed;
+    private final MeterRegistry meterRegistry;
+
+    public RedisCalendarMonthCache(RedisCommandExecutor redis, MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.hits = meterRegistry.counter("calendar.month_cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("calendar.month_cache.requests", "result", "miss");
+        this.earlyRefreshes = meterRegistry.counter("calendar.month_cache.requests", "result", "early_refresh");
+        this.collapsed = meterRegistry.counter("calendar.month_cache.stampede_collapsed");
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Optional<List<CalendarItemListView>> get(Long userId, YearMonth month) {
+        return Optional.ofNullable(lookup(userId, month).entry()).map(CachedMonth::items);
+    }
+
+    @Override
+    public Optional<String> version(Long userId, YearMonth month) {
+        return redis.execute("month.version", jedis -> Optional.of(String.valueOf(
+                jedis.eval(VERSION_SCRIPT, generationKeys(userId, List.of(month)), generationArgs()))), Optional.empty());
     }
 
     @Override
-    public Optional<List<CalendarItemView>> get(Long userId, YearMonth month) {
-        String key = key(userId, month);
-        try (Jedis jedis = jedisPool.getResource()) {
-            String json = jedis.get(key);
-            if (json == null || json.isBlank()) {
-                return Optional.empty();
+    public Map<YearMonth, List<CalendarItemListView>> getOrLoadAll(
+            Long userId,
+            List<YearMonth> months,
+            Function<List<YearMonth>, Map<YearMonth, List<CalendarItemListView>>> loader
+    ) {
+        Map<YearMonth, List<CalendarItemListView>> result = new LinkedHashMap<>();
+        if (months.isEmpty()) {
+            return result;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        BatchLookup lookup = lookupAll(userId, months);
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month : months) {
+            CachedMonth cached = lookup.entries().get(month);
+            if (cached != null && !shouldRefreshEarly(cached)) {
+                hits.increment();
+                result.put(month, cached.items());
+            } else {
+                (cached != null ? earlyRefreshes : misses).increment();
+                missing.add(month);
             }
-            List<CalendarItemView> items = mapper.readValue(json, new TypeReference<>() {
-            });
-            return Optional.of(items);
-        } catch (Exception ignored) {
-            return Optional.empty();
         }
+        if (missing.isEmpty()) {
+            sample.stop(getTimer("hit", true));
+            return result;
+        }
+
+        long started = System.nanoTime();
+        Map<YearMonth, List<CalendarItemListView>> loaded = loader.apply(missing);
+        long computeMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        putAll(userId, lookup.generations(), loaded, computeMs);
+
+        for (YearMonth month : months) {
+            result.computeIfAbsent(month, m -> loaded.getOrDefault(m, List.of()));
+        }
+        sample.stop(getTimer("miss", true));
+        return result;
     }
 
     @Override
-    public void put(Long userId, YearMonth month, List<CalendarItemView> items) {
-        String key = key(userId, month);
-        try (Jedis jedis = jedisPool.getResource()) {
-            jedis.setex(key, 60 * 10, mapper.writeValueAsString(items));
-        } catch (Exception ignored) {
+    public List<CalendarItemListView> getOrLoad(Long userId, YearMonth month, Supplier<List<CalendarItemListView>> loader) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Lookup lookup = lookup(userId, month);
+        CachedMonth cached = lookup.entry();
+        if (cached != null && !shouldRefreshEarly(cached)) {
+            hits.increment();
+            sample.stop(getTimer("hit", false));
+            return cached.items();
+        }
+
+        String flightKey = userId + ":" + month;
+        CompletableFuture<List<CalendarItemListView>> mine = new CompletableFuture<>();
+        CompletableFuture<List<CalendarItemListView>> running = inFlight.putIfAbsent(flightKey, mine);
+        if (running != null) {
+            collapsed.increment();
+            // Someone is already refreshing: serve the current entry if there is one, otherwise wait for theirs.
+            List<CalendarItemListView> items = cached != null ? cached.items() : await(running);
+            sample.stop(getTimer("collapsed", false));
+            return items;
+        }
+
+        (cached != null ? earlyRefreshes : misses).increment();
+        try {
+            long started = System.nanoTime();
+            List<CalendarItemListView> items = loader.get();
+            long computeMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            store(userId, month, lookup.generation(), items, computeMs);
+            mine.complete(items);
+            sample.stop(getTimer(cached != null ? "early_refresh" : "miss", false));
+            return items;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
         }
     }
 
     @Override
     public void evict(Long userId, YearMonth month) {
-        String key = key(userId, month);
-        try (Jedis jedis = jedisPool.getResource()) {
-            jedis.del(key);
-        } catch (Exception ignored) {
+        evictAll(Map.of(userId, List.of(month)));
+    }
+
+    @Override
+    public void evictAll(Map<Long, ? extends Collection<YearMonth>> monthsByUser) {
+        // Only the named months get a new version; all of them go out in a single pipeline.
+        if (monthsByUser.isEmpty()) {
+            return;
         }
+        redis.invalidate("month.evict", jedis -> {
+            try (Pipeline pipeline = jedis.pipelined()) {
+                monthsByUser.forEach((userId, months) -> months.forEach(month ->
+                        pipeline.setex(monthVersionKey(userId, month), VERSION_TTL_SECONDS, VersionTokens.newToken())));
+                pipeline.sync();
+            }
+        });
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        redis.invalidate("month.evict_user", jedis ->
+                jedis.setex(VERSION_PREFIX + userId, VERSION_TTL_SECONDS, VersionTokens.newToken()));
+    }
+
+    private Lookup lookup(Long userId, YearMonth month) {
+        BatchLookup batch = lookupAll(userId, List.of(month));
+        return new Lookup(batch.generations().get(month), batch.entries().get(month));
+    }
+
+    private BatchLookup lookupAll(Long userId, List<YearMonth> months) {
+        List<String> args = new ArrayList<>(generationArgs());
+        args.add(PREFIX + userId + ":");
+        months.forEach(m -> args.add(m.toString()));
+        // Unknown generation (Redis down or circuit open): load from the DB and skip the put.
+        return redis.execute("month.get", jedis -> {
+            List<?> reply = (List<?>) jedis.eval(LOOKUP_SCRIPT, generationKeys(userId, months), args);
+            List<?> gens = reply.get(0) instanceof List<?> l ? l : List.of();
+            List<?> values = reply.size() > 1 && reply.get(1) instanceof List<?> l ? l : List.of();
+            Map<YearMonth, String> generations = new HashMap<>();
+            Map<YearMonth, CachedMonth> entries = new HashMap<>();
+            for (int i = 0; i < gens.size() && i < months.size(); i++) {
+                generations.put(months.get(i), String.valueOf(gens.get(i)));
+                Object json = i < values.size() ? values.get(i) : null;
+                if (json != null && !json.toString().isBlank()) {
+                    entries.put(months.get(i), decode(json.toString()));
+                }
+            }
+            return new BatchLookup(generations, entries);
+        }, new BatchLookup(Map.of(), Map.of()));
+    }
+
+    private void store(Long userId, YearMonth month, String generation, List<CalendarItemListView> items, long computeMs) {
+        if (generation != null) {
+            putAll(userId, Map.of(month, generation), Map.of(month, items), computeMs);
+        }
+    }
+
+    private void putAll(
+            Long userId,
+            Map<YearMonth, String> generations,
+            Map<YearMonth, List<CalendarItemListView>> months,
+            long computeMs
+    ) {
+        if (generations.isEmpty() || months.isEmpty()) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + TTL_SECONDS * 1000L;
+        redis.run("month.put", jedis -> {
+            try (Pipeline pipeline = jedis.pipelined()) {
+                for (Map.Entry<YearMonth, List<CalendarItemListView>> e : months.entrySet()) {
+                    String generation = generations.get(e.getKey());
+                    if (generation == null) {
+                        continue;
+                    }
+                    CachedMonth entry = new CachedMonth(e.getValue(), computeMs, expiresAt);
+                    pipeline.setex(key(userId, generation, e.getKey()), TTL_SECONDS, encode(entry));
+                }
+                pipeline.sync();
+            }
+        });
+    }
+
+    // End-to-end cache read including any load on a miss; the Redis round-trips alone are in redis.command.
+    private Timer getTimer(String result, boolean batch) {
+        return meterRegistry.timer("calendar.month_cache.get", "result", result, "batch", String.valueOf(batch));
+    }
+
+    // Entry codec; package-private for the JMH benchmarks (src/jmh).
+    static String encode(CachedMonth entry) throws JsonProcessingException {
+        return MAPPER.writeValueAsString(entry);
+    }
+
+    static CachedMonth decode(String json) throws JsonProcessingException {
+        return MAPPER.readValue(json, CachedMonth.class);
+    }
+
+    private static boolean shouldRefreshEarly(CachedMonth entry) {
+        double gap = -entry.computeMs() * EARLY_REFRESH_BETA * Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= entry.expiresAtMs();
+    }
+
+    private static List<CalendarItemListView> await(CompletableFuture<List<CalendarItemListView>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static List<String> generationKeys(Long userId, List<YearMonth> months) {
+        List<String> keys = new ArrayList<>(months.size() + 2);
+        keys.add(VERSION_PREFIX + userId);
+        keys.add(RedisCommandExecutor.EPOCH_KEY);
+        months.forEach(m -> keys.add(monthVersionKey(userId, m)));
+        return keys;
+    }
+
+    private static String monthVersionKey(Long userId, YearMonth month) {
+        return VERSION_PREFIX + userId + ":" + month;
+    }
+
+    private static List<String> generationArgs() {
+        return List.of(VersionTokens.newToken(), String.valueOf(VERSION_TTL_SECONDS));
+    }
+
+    private static String key(Long userId, String generation, YearMonth month) {
+        return PREFIX + userId + ":" + generation + ":" + month;
+    }
+
+    record CachedMonth(List<CalendarItemListView> items, long computeMs, long expiresAtMs) {
+    }
+
+    private record Lookup(String generation, CachedMonth entry) {
     }
 
-    private static String key(Long userId, YearMonth month) {
-        return PREFIX + userId + ":" + month;
+    private record BatchLookup(Map<YearMonth, String> generations, Map<YearMonth, CachedMonth> entries) {
     }
 }
@@ -0,0 +1,108 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.config.redis.RedisCommandExecutor;
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.ImportanceLevel;
+import CalenderApp.demo.service.CalendarYearSummaryStore;
+import CalenderApp.demo.service.view.CalendarYearSummary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+@ConditionalOnProperty(name = "app.cache.mode", havingValue = "redis", matchIfMissing = true)
+public class RedisCalendarYearSummaryStore implements CalendarYearSummaryStore {
+
+    private static final String PREFIX = "cal:year:";
+    private static final String VERSION_PREFIX = "cal:year:v:";
+    private static final long TTL_SECONDS = 60 * 60 * 6;
+
+    // Keys are cal:year:e{epoch}:{userId}:{year}; each script resolves the current epoch first (see RedisCommandExecutor).
+    private static final String RESOLVE_KEY = "local k = ARGV[1] .. (redis.call('GET', KEYS[1]) or '0') .. ARGV[2] ";
+    // KEYS[2], where present, is the year's version key, advanced by every apply and evict.
+    private static final String BUMP_VERSION = "redis.call('INCR', KEYS[2]) redis.call('EXPIRE', KEYS[2], " + TTL_SECONDS + ") ";
+    private static final String GET_SCRIPT = RESOLVE_KEY + "return redis.call('GET', k)";
+    // A rebuild is stored only if no write landed since its version was read (SET NX on top of the version check).
+    private static final String PUT_IF_UNCHANGED_SCRIPT = RESOLVE_KEY
+            + "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[5] then return nil end "
+            + "return redis.call('SET', k, ARGV[4], 'EX', ARGV[3], 'NX')";
+    private static final String EVICT_SCRIPT = RESOLVE_KEY + BUMP_VERSION + "return redis.call('DEL', k)";
+    // Only increment an existing summary; BITFIELD on a missing key would create a zero-filled one.
+    private static final String INCREMENT_IF_EXISTS = RESOLVE_KEY + BUMP_VERSION
+            + "if redis.call('EXISTS', k) == 1 then return redis.call('BITFIELD', k, unpack(ARGV, 3)) end return nil";
+
+    private final RedisCommandExecutor redis;
+
+    public RedisCalendarYearSummaryStore(RedisCommandExecutor redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Optional<CalendarYearSummary> get(Long userId, int year) {
+        return redis.execute("year.get", jedis -> {
+            Object raw = jedis.eval(bytes(GET_SCRIPT), List.of(bytes(RedisCommandExecutor.EPOCH_KEY)), keyArgs(userId, year));
+            if (!(raw instanceof byte[] packed) || packed.length == 0) {
+                return Optional.<CalendarYearSummary>empty();
+            }
+            return Optional.of(CalendarYearSummary.fromBytes(year, packed));
+        }, Optional.empty());
+    }
+
+    @Override
+    public Optional<String> version(Long userId, int year) {
+        return redis.execute("year.version",
+                jedis -> Optional.of(Objects.requireNonNullElse(jedis.get(versionKey(userId, year)), "0")),
+                Optional.empty());
+    }
+
+    @Override
+    public void putIfUnchanged(Long userId, CalendarYearSummary summary, String version) {
+        List<byte[]> args = new ArrayList<>(keyArgs(userId, summary.year()));
+        args.add(bytes(String.valueOf(TTL_SECONDS)));
+        args.add(summary.toBytes());
+        args.add(bytes(version));
+        List<byte[]> keys = List.of(bytes(RedisCommandExecutor.EPOCH_KEY), bytes(versionKey(userId, summary.year())));
+        redis.run("year.put", jedis -> jedis.eval(bytes(PUT_IF_UNCHANGED_SCRIPT), keys, args));
+    }
+
+    @Override
+    public void apply(Long userId, LocalDate date, CalendarItemType type, ImportanceLevel importance, boolean done, int delta) {
+        List<String> args = new ArrayList<>();
+        args.add(PREFIX + "e");
+        args.add(":" + userId + ":" + date.getYear());
+        args.add("OVERFLOW");
+        args.add("SAT");
+        for (int offset : CalendarYearSummary.offsets(date, type, importance, done)) {
+            args.add("INCRBY");
+            args.add("u8");
+            args.add("#" + offset);
+            args.add(String.valueOf(delta));
+        }
+        List<String> keys = List.of(RedisCommandExecutor.EPOCH_KEY, versionKey(userId, date.getYear()));
+        redis.invalidate("year.apply", jedis -> jedis.eval(INCREMENT_IF_EXISTS, keys, args));
+    }
+
+    @Override
+    public void evict(Long userId, int year) {
+        redis.invalidate("year.evict", jedis -> jedis.eval(EVICT_SCRIPT,
+                List.of(RedisCommandExecutor.EPOCH_KEY, versionKey(userId, year)), List.of(PREFIX + "e", ":" + userId + ":" + year)));
+    }
+
+    private static String versionKey(Long userId, int year) {
+        return VERSION_PREFIX + userId + ":" + year;
+    }
+
+    private static List<byte[]> keyArgs(Long userId, int year) {
+        return List.of(bytes(PREFIX + "e"), bytes(":" + userId + ":" + year));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
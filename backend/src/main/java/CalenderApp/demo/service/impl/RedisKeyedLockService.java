@@ -0,0 +1,104 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.config.redis.RedisCommandExecutor;
+import CalenderApp.demo.service.KeyedLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import redis.clients.jedis.params.SetParams;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cross-node variant of {@link LocalKeyedLockService}: SET NX PX on {@code lock:{key}} with a random token,
+ * released by a compare-and-delete script so an expired lease never frees someone else's lock.
+ * <p>
+ * Waiters on the same node queue on the local stripe first, so only one thread per node polls Redis.
+ * If Redis is unavailable (or its circuit is open) the local lock is all that is held, matching how the
+ * Redis caches degrade.
+ */
+@Service
+@ConditionalOnProperty(name = "app.locks.mode", havingValue = "redis")
+public class RedisKeyedLockService implements KeyedLockService {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisKeyedLockService.class);
+
+    private static final String PREFIX = "lock:";
+    private static final String UNAVAILABLE = "UNAVAILABLE";
+
+    private static final String RELEASE_SCRIPT = """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """;
+
+    private final RedisCommandExecutor redis;
+    private final LocalKeyedLockService local;
+    private final long waitMs;
+    private final long leaseMs;
+
+    public RedisKeyedLockService(
+            RedisCommandExecutor redis,
+            @Value("${app.locks.stripes:256}") int stripes,
+            @Value("${app.locks.waitMs:5000}") long waitMs,
+            @Value("${app.locks.leaseMs:30000}") long leaseMs
+    ) {
+        this.redis = redis;
+        this.local = new LocalKeyedLockService(stripes, waitMs);
+        this.waitMs = waitMs;
+        this.leaseMs = leaseMs;
+    }
+
+    @Override
+    public <T> T withLock(String key, Supplier<T> action) {
+        return local.withLock(key, () -> {
+            String redisKey = PREFIX + key;
+            String token = acquire(redisKey);
+            try {
+                return action.get();
+            } finally {
+                release(redisKey, token);
+            }
+        });
+    }
+
+    private String acquire(String redisKey) {
+        String token = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + waitMs;
+        long backoff = 10;
+        try {
+            while (true) {
+                String reply = redis.execute("lock.acquire",
+                        jedis -> String.valueOf(jedis.set(redisKey, token, SetParams.setParams().nx().px(leaseMs))),
+                        UNAVAILABLE);
+                if ("OK".equals(reply)) {
+                    return token;
+                }
+                if (UNAVAILABLE.equals(reply)) {
+                    return null;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    log.warn("Lock wait timed out for {}; continuing without it", redisKey);
+                    return null;
+                }
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, 100);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void release(String redisKey, String token) {
+        if (token == null) {
+            return;
+        }
+        redis.run("lock.release", jedis -> jedis.eval(RELEASE_SCRIPT, List.of(redisKey), List.of(token)));
+    }
+}
@@ -0,0 +1,37 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.config.redis.RedisCommandExecutor;
+import CalenderApp.demo.config.redis.VersionTokens;
+import CalenderApp.demo.service.NotificationVersionStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@ConditionalOnProperty(name = "app.cache.mode", havingValue = "redis", matchIfMissing = true)
+public class RedisNotificationVersionStore implements NotificationVersionStore {
+
+    private static final String PREFIX = "notif:ver:";
+    private static final int TTL_SECONDS = 60 * 60 * 24;
+    private static final String CURRENT_SCRIPT = VersionTokens.RESOLVE_GENERATION + "return g";
+
+    private final RedisCommandExecutor redis;
+
+    public RedisNotificationVersionStore(RedisCommandExecutor redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Optional<String> current(Long userId) {
+        List<String> args = List.of(VersionTokens.newToken(), String.valueOf(TTL_SECONDS));
+        return redis.execute("notification.version", jedis -> Optional.of(String.valueOf(
+                jedis.eval(CURRENT_SCRIPT, List.of(PREFIX + userId, RedisCommandExecutor.EPOCH_KEY), args))), Optional.empty());
+    }
+
+    @Override
+    public void bump(Long userId) {
+        redis.invalidate("notification.bump", jedis -> jedis.setex(PREFIX + userId, TTL_SECONDS, VersionTokens.newToken()));
+    }
+}
@@ -44,8 +44,9 @@ public class UpcomingNotificationScheduler {
                 continue;
             }
 
-            item.setNotified(true);
-            itemRepository.save(item);
+            if (itemRepository.markNotified(item.getId()) == 0) {
+                continue;
+            }
 
             notificationService.create(new Notification(
                     item.getUser(),
@@ -4,53 +4,127 @@ import CalenderApp.demo.model.AppUser;
 import CalenderApp.demo.model.CalendarItem;
 import CalenderApp.demo.model.CalendarItemType;
 import CalenderApp.demo.model.Exercise;
+import CalenderApp.demo.model.ImportanceLevel;
 import CalenderApp.demo.model.WorkoutSession;
 import CalenderApp.demo.model.WorkoutSessionEntry;
 import CalenderApp.demo.model.WorkoutTemplate;
 import CalenderApp.demo.model.WorkoutTemplateEntry;
 import CalenderApp.demo.repository.CalendarItemRepository;
 import CalenderApp.demo.repository.ExerciseRepository;
+import CalenderApp.demo.repository.WorkoutSessionEntryRepository;
+import CalenderApp.demo.repository.WorkoutSessionJdbcRepository;
 import CalenderApp.demo.repository.WorkoutSessionRepository;
 import CalenderApp.demo.repository.WorkoutTemplateRepository;
+import CalenderApp.demo.service.CalendarService;
+import CalenderApp.demo.service.ExerciseNameCache;
 import CalenderApp.demo.service.WorkoutService;
+import CalenderApp.demo.service.WorkoutStatsService;
+import CalenderApp.demo.service.command.CreateCalendarItemCommand;
 import CalenderApp.demo.service.exception.BadRequestException;
 import CalenderApp.demo.service.exception.NotFoundException;
+import CalenderApp.demo.service.view.WorkoutTemplateSummaryView;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class WorkoutServiceImpl implements WorkoutService {
 
+    // One year of daily workouts, over at most two years.
+    private static final int MAX_SCHEDULED = 366;
+    private static final int MAX_SCHEDULE_DAYS = 731;
+    private static final int MAX_EXERCISE_PAGE = 200;
+    private static final int MAX_TEMPLATE_PAGE = 100;
+
     private final ExerciseRepository exerciseRepository;
     private final WorkoutTemplateRepository templateRepository;
     private final WorkoutSessionRepository sessionRepository;
     private final CalendarItemRepository calendarItemRepository;
+    private final WorkoutStatsService statsService;
+    private final CalendarService calendarService;
+    private final WorkoutSessionJdbcRepository sessionJdbcRepository;
+    private final WorkoutSessionEntryRepository sessionEntryRepository;
+    private final ExerciseNameCache exerciseNameCache;
 
     public WorkoutServiceImpl(
             ExerciseRepository exerciseRepository,
             WorkoutTemplateRepository templateRepository,
             WorkoutSessionRepository sessionRepository,
-            CalendarItemRepository calendarItemRepository
+            CalendarItemRepository calendarItemRepository,
+            WorkoutStatsService statsService,
+            CalendarService calendarService,
+            WorkoutSessionJdbcRepository sessionJdbcRepository,
+            WorkoutSessionEntryRepository sessionEntryRepository,
+            ExerciseNameCache exerciseNameCache
     ) {
         this.exerciseRepository = exerciseRepository;
         this.templateRepository = templateRepository;
         this.sessionRepository = sessionRepository;
         this.calendarItemRepository = calendarItemRepository;
+        this.statsService = statsService;
+        this.calendarService = calendarService;
+        this.sessionJdbcRepository = sessionJdbcRepository;
+        this.sessionEntryRepository = sessionEntryRepository;
+        this.exerciseNameCache = exerciseNameCache;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Exercise> listExercises(AppUser user) {
-        return exerciseRepository.findByUserOrderByNameAsc(user);
+        return exerciseRepository.findByUserOrderByNameLcAsc(user);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Exercise> listExercisesPage(AppUser user, String afterNameLc, int limit) {
+        // "" sorts before every name, so the first page is the same keyset query.
+        String after = afterNameLc != null ? afterNameLc : "";
+        return exerciseRepository.findByUserAndNameLcGreaterThanOrderByNameLcAsc(user, after, Limit.of(checkLimit(limit)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Exercise> searchExercises(AppUser user, String prefix, int limit) {
+        return exerciseRepository.findByUserAndNameLcStartingWithOrderByNameLcAsc(
+                user, prefix == null ? "" : Exercise.normalizeName(prefix), Limit.of(checkLimit(limit)));
+    }
+
+    @Override
+    public Map<Long, String> exerciseNames(AppUser user, Collection<Long> exerciseIds) {
+        return exerciseNameCache.names(user, exerciseIds);
     }
 
     @Override
     public Exercise createExercise(AppUser user, String name) {
-        if (exerciseRepository.existsByUserAndNameIgnoreCase(user, name)) {
+        Exercise exercise = new Exercise(user, name.trim());
+        if (exerciseRepository.existsByUserAndNameLc(user, exercise.getNameLc())) {
+            throw new BadRequestException("exercise already exists");
+        }
+        try {
+            return exerciseRepository.save(exercise);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent create of the same name (unique on user_id, name_lc).
             throw new BadRequestException("exercise already exists");
         }
-        return exerciseRepository.save(new Exercise(user, name.trim()));
     }
 
     @Override
@@ -62,14 +136,67 @@ public class WorkoutServiceImpl implements WorkoutService {
         } catch (DataIntegrityViolationException e) {
             throw new BadRequestException("Exercise is used by a template/session");
         }
+        exerciseNameCache.evict(user.getId(), exerciseId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<WorkoutTemplate> listTemplates(AppUser user) {
         return templateRepository.findByUserOrderByUpdatedAtDesc(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<WorkoutTemplateSummaryView> listTemplateSummaries(AppUser user, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_TEMPLATE_PAGE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_TEMPLATE_PAGE);
+        }
+        PageRequest page = PageRequest.of(0, limit);
+        List<WorkoutTemplateSummaryView> items;
+        if (cursor == null || cursor.isBlank()) {
+            items = templateRepository.findSummaries(user, page);
+        } else {
+            TemplateCursor after = TemplateCursor.parse(cursor);
+            items = templateRepository.findSummariesBefore(user, after.updatedAt(), after.id(), page);
+        }
+        String next = null;
+        if (items.size() == limit) {
+            WorkoutTemplateSummaryView last = items.get(items.size() - 1);
+            next = new TemplateCursor(last.updatedAt(), last.id()).format();
+        }
+        return new CursorPage<>(items, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<WorkoutTemplate> listTemplatesPage(AppUser user, String cursor, int limit) {
+        // Headers with LIMIT first, then the page's entries by id; a fetch join under LIMIT would make
+        // Hibernate read every template of the user and paginate in memory.
+        CursorPage<WorkoutTemplateSummaryView> headers = listTemplateSummaries(user, cursor, limit);
+        if (headers.items().isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        Map<Long, WorkoutTemplate> byId = templateRepository
+                .findAllByUserAndIdIn(user, headers.items().stream().map(WorkoutTemplateSummaryView::id).toList())
+                .stream()
+                .collect(Collectors.toMap(WorkoutTemplate::getId, Function.identity()));
+        // A template deleted between the two queries is simply left out.
+        List<WorkoutTemplate> templates = headers.items().stream()
+                .map(h -> byId.get(h.id()))
+                .filter(java.util.Objects::nonNull)
+                .toList();
+        return new CursorPage<>(templates, headers.nextCursor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WorkoutTemplate getTemplate(AppUser user, Long templateId) {
+        return templateRepository.findByIdAndUser(templateId, user)
+                .orElseThrow(() -> new NotFoundException("Template not found"));
+    }
+
+    @Override
+    @Transactional
     public WorkoutTemplate createTemplate(AppUser user, String title, List<EntrySpec> entries) {
         WorkoutTemplate template = new WorkoutTemplate(user, title.trim());
         applyTemplateEntries(user, template, entries);
@@ -77,6 +204,7 @@ public class WorkoutServiceImpl implements WorkoutService {
     }
 
     @Override
+    @Transactional
     public WorkoutTemplate updateTemplate(AppUser user, Long templateId, String title, List<EntrySpec> entries) {
         WorkoutTemplate template = templateRepository.findByIdAndUser(templateId, user)
                 .orElseThrow(() -> new NotFoundException("Template not found"));
@@ -100,20 +228,143 @@ public class WorkoutServiceImpl implements WorkoutService {
     }
 
     @Override
+    @Transactional
     public WorkoutSession updateSession(AppUser user, Long calendarItemId, List<EntrySpec> entries) {
         CalendarItem item = requireWorkoutCalendarItem(user, calendarItemId);
         WorkoutSession session = sessionRepository.findByUserAndCalendarItem_Id(user, calendarItemId)
                 .orElseGet(() -> new WorkoutSession(user, item));
 
-        session.getEntries().clear();
-        int pos = 0;
-        for (EntrySpec spec : entries) {
-            Exercise ex = exerciseRepository.findByIdAndUser(spec.exerciseId(), user)
-                    .orElseThrow(() -> new BadRequestException("Unknown exerciseId: " + spec.exerciseId()));
-            session.getEntries().add(new WorkoutSessionEntry(session, ex, spec.sets(), spec.reps(), spec.weight(), pos++));
+        // Positional diff: rows whose values did not change produce no SQL at all.
+        List<WorkoutSessionEntry> current = session.getEntries();
+        Map<Long, Exercise> exercises = resolveExercises(user, entries, current.stream().map(WorkoutSessionEntry::getExercise).toList());
+        boolean changed = session.getId() == null;
+        for (int pos = 0; pos < entries.size(); pos++) {
+            EntrySpec spec = entries.get(pos);
+            Exercise ex = exercises.get(spec.exerciseId());
+            if (pos >= current.size()) {
+                current.add(new WorkoutSessionEntry(session, ex, spec.sets(), spec.reps(), spec.weight(), pos));
+                changed = true;
+            } else {
+                changed |= apply(current.get(pos), ex, spec, pos);
+            }
+        }
+        while (current.size() > entries.size()) {
+            current.remove(current.size() - 1);
+            changed = true;
+        }
+        if (!changed) {
+            return session;
         }
         session.touch();
-        return sessionRepository.save(session);
+        // Flushed so the stats recompute (plain SQL on this transaction) sees the new entries.
+        WorkoutSession saved = sessionRepository.saveAndFlush(session);
+        statsService.refreshWeek(user, item.getDate());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public WorkoutSession updateSessionEntry(AppUser user, Long calendarItemId, int position, EntrySpec spec) {
+        WorkoutSession session = sessionRepository.findByUserAndCalendarItem_Id(user, calendarItemId)
+                .orElseThrow(() -> new NotFoundException("Workout session not found"));
+        List<WorkoutSessionEntry> current = session.getEntries();
+        if (position < 0 || position >= current.size()) {
+            throw new NotFoundException("Workout entry not found");
+        }
+        WorkoutSessionEntry entry = current.get(position);
+        Exercise ex = resolveExercises(user, List.of(spec), List.of(entry.getExercise())).get(spec.exerciseId());
+        if (apply(entry, ex, spec, position)) {
+            session.touch();
+            sessionRepository.flush();
+            statsService.refreshWeek(user, session.getCalendarItem().getDate());
+        }
+        return session;
+    }
+
+    @Override
+    @Transactional
+    public ScheduleResult scheduleTemplate(AppUser user, Long templateId, ScheduleSpec schedule) {
+        WorkoutTemplate template = templateRepository.findByIdAndUser(templateId, user)
+                .orElseThrow(() -> new NotFoundException("Template not found"));
+        List<LocalDate> dates = scheduledDates(schedule);
+        if (dates.isEmpty()) {
+            throw new BadRequestException("Schedule matches no dates");
+        }
+
+        ImportanceLevel importance = schedule.importance() != null ? schedule.importance() : ImportanceLevel.MEDIUM;
+        List<CreateCalendarItemCommand> commands = dates.stream()
+                .map(date -> new CreateCalendarItemCommand(date, schedule.startTime(), schedule.endTime(), CalendarItemType.WORKOUT,
+                        importance, template.getTitle(), null, false, null, null, null))
+                .toList();
+        List<Long> itemIds = calendarService.createAll(user, commands);
+
+        // Items and sessions have IDENTITY ids and go in as JDBC batches; entries use a sequence, so Hibernate
+        // batches them too. Sessions are only referenced by id, nothing is loaded back.
+        List<Long> sessionIds = sessionJdbcRepository.insertSessions(user.getId(), itemIds);
+        List<WorkoutTemplateEntry> templateEntries = template.getEntries();
+        List<WorkoutSessionEntry> entries = new ArrayList<>(sessionIds.size() * templateEntries.size());
+        for (Long sessionId : sessionIds) {
+            WorkoutSession session = sessionRepository.getReferenceById(sessionId);
+            for (int pos = 0; pos < templateEntries.size(); pos++) {
+                WorkoutTemplateEntry te = templateEntries.get(pos);
+                entries.add(new WorkoutSessionEntry(session, te.getExercise(), te.getSets(), te.getReps(), te.getWeight(), pos));
+            }
+        }
+        sessionEntryRepository.saveAll(entries);
+        // Scheduled sessions are not done yet, so the weekly stats (completed sessions only) are unchanged.
+        sessionEntryRepository.flush();
+        return new ScheduleResult(itemIds, dates);
+    }
+
+    // Opaque to clients: "<updatedAt>_<id>" of the last row of the previous page.
+    private record TemplateCursor(Instant updatedAt, Long id) {
+
+        static TemplateCursor parse(String cursor) {
+            int sep = cursor.lastIndexOf('_');
+            try {
+                return new TemplateCursor(Instant.parse(cursor.substring(0, sep)), Long.parseLong(cursor.substring(sep + 1)));
+            } catch (DateTimeParseException | NumberFormatException | StringIndexOutOfBoundsException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        String format() {
+            return updatedAt + "_" + id;
+        }
+    }
+
+    private static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_EXERCISE_PAGE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_EXERCISE_PAGE);
+        }
+        return limit;
+    }
+
+    private static List<LocalDate> scheduledDates(ScheduleSpec schedule) {
+        if (schedule.to().isBefore(schedule.from())) {
+            throw new BadRequestException("to must not be before from");
+        }
+        if (ChronoUnit.DAYS.between(schedule.from(), schedule.to()) >= MAX_SCHEDULE_DAYS) {
+            throw new BadRequestException("Schedule must span at most " + MAX_SCHEDULE_DAYS + " days");
+        }
+        if (schedule.intervalWeeks() < 1) {
+            throw new BadRequestException("intervalWeeks must be at least 1");
+        }
+        if (schedule.daysOfWeek() == null || schedule.daysOfWeek().isEmpty()) {
+            throw new BadRequestException("daysOfWeek must not be empty");
+        }
+        LocalDate firstWeek = schedule.from().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate d = schedule.from(); !d.isAfter(schedule.to()); d = d.plusDays(1)) {
+            long week = ChronoUnit.WEEKS.between(firstWeek, d);
+            if (week % schedule.intervalWeeks() == 0 && schedule.daysOfWeek().contains(d.getDayOfWeek())) {
+                if (dates.size() == MAX_SCHEDULED) {
+                    throw new BadRequestException("Schedule must create at most " + MAX_SCHEDULED + " workouts");
+                }
+                dates.add(d);
+            }
+        }
+        return dates;
     }
 
     private CalendarItem requireWorkoutCalendarItem(AppUser user, Long calendarItemId) {
@@ -126,12 +377,73 @@ public class WorkoutServiceImpl implements WorkoutService {
     }
 
     private void applyTemplateEntries(AppUser user, WorkoutTemplate template, List<EntrySpec> entries) {
-        template.getEntries().clear();
-        int pos = 0;
-        for (EntrySpec spec : entries) {
-            Exercise ex = exerciseRepository.findByIdAndUser(spec.exerciseId(), user)
-                    .orElseThrow(() -> new BadRequestException("Unknown exerciseId: " + spec.exerciseId()));
-            template.getEntries().add(new WorkoutTemplateEntry(template, ex, spec.sets(), spec.reps(), spec.weight(), pos++));
+        // Same positional diff as updateSession.
+        List<WorkoutTemplateEntry> current = template.getEntries();
+        Map<Long, Exercise> exercises = resolveExercises(user, entries, current.stream().map(WorkoutTemplateEntry::getExercise).toList());
+        for (int pos = 0; pos < entries.size(); pos++) {
+            EntrySpec spec = entries.get(pos);
+            Exercise ex = exercises.get(spec.exerciseId());
+            if (pos >= current.size()) {
+                current.add(new WorkoutTemplateEntry(template, ex, spec.sets(), spec.reps(), spec.weight(), pos));
+            } else {
+                apply(current.get(pos), ex, spec, pos);
+            }
+        }
+        while (current.size() > entries.size()) {
+            current.remove(current.size() - 1);
+        }
+    }
+
+    /**
+     * Maps every referenced exercise id to the user's exercise. {@code known} are exercises already loaded with
+     * the entries (so re-saving an unchanged list queries nothing); the rest come from one IN query, and every
+     * unknown id is reported at once.
+     */
+    private Map<Long, Exercise> resolveExercises(AppUser user, List<EntrySpec> entries, List<Exercise> known) {
+        Map<Long, Exercise> byId = new HashMap<>();
+        known.forEach(ex -> byId.put(ex.getId(), ex));
+        Set<Long> missing = entries.stream()
+                .map(EntrySpec::exerciseId)
+                .filter(id -> !byId.containsKey(id))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (missing.isEmpty()) {
+            return byId;
         }
+        exerciseRepository.findAllByUserAndIdIn(user, missing).forEach(ex -> byId.put(ex.getId(), ex));
+        List<Long> unknown = missing.stream().filter(id -> !byId.containsKey(id)).toList();
+        if (!unknown.isEmpty()) {
+            throw new BadRequestException("Unknown exerciseId: " + unknown.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+        return byId;
+    }
+
+    // Returns whether anything changed; unchanged entries stay clean and are not updated.
+    private static boolean apply(WorkoutSessionEntry entry, Exercise exercise, EntrySpec spec, int position) {
+        if (sameValues(entry.getExercise(), entry.getSets(), entry.getReps(), entry.getWeight(), entry.getPosition(), spec, position)) {
+            return false;
+        }
+        entry.setExercise(exercise);
+        entry.setSets(spec.sets());
+        entry.setReps(spec.reps());
+        entry.setWeight(spec.weight());
+        entry.setPosition(position);
+        return true;
+    }
+
+    private static boolean apply(WorkoutTemplateEntry entry, Exercise exercise, EntrySpec spec, int position) {
+        if (sameValues(entry.getExercise(), entry.getSets(), entry.getReps(), entry.getWeight(), entry.getPosition(), spec, position)) {
+            return false;
+        }
+        entry.setExercise(exercise);
+        entry.setSets(spec.sets());
+        entry.setReps(spec.reps());
+        entry.setWeight(spec.weight());
+        entry.setPosition(position);
+        return true;
+    }
+
+    private static boolean sameValues(Exercise exercise, int sets, int reps, BigDecimal weight, int position, EntrySpec spec, int newPosition) {
+        boolean sameWeight = weight == null ? spec.weight() == null : spec.weight() != null && weight.compareTo(spec.weight()) == 0;
+        return exercise.getId().equals(spec.exerciseId()) && sets == spec.sets() && reps == spec.reps() && sameWeight && position == newPosition;
     }
 }
@@ -0,0 +1,102 @@
+package CalenderApp.demo.service.impl;
+
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.repository.ExerciseWeeklyStatJdbcRepository;
+import CalenderApp.demo.repository.ExerciseWeeklyStatRepository;
+import CalenderApp.demo.service.WorkoutStatsService;
+import CalenderApp.demo.service.exception.BadRequestException;
+import CalenderApp.demo.service.view.ExerciseProgressView;
+import CalenderApp.demo.service.view.ExerciseWeeklyStatView;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Service
+public class WorkoutStatsServiceImpl implements WorkoutStatsService {
+
+    // About five years of weekly buckets per exercise.
+    private static final int MAX_WEEKS = 53 * 5;
+
+    private final ExerciseWeeklyStatRepository statRepository;
+    private final ExerciseWeeklyStatJdbcRepository statJdbcRepository;
+
+    public WorkoutStatsServiceImpl(ExerciseWeeklyStatRepository statRepository, ExerciseWeeklyStatJdbcRepository statJdbcRepository) {
+        this.statRepository = statRepository;
+        this.statJdbcRepository = statJdbcRepository;
+    }
+
+    @Override
+    public void refreshWeek(AppUser user, LocalDate date) {
+        statJdbcRepository.recomputeWeek(user.getId(), weekStart(date));
+    }
+
+    @Override
+    public void refreshWeeks(AppUser user, Collection<LocalDate> dates) {
+        statJdbcRepository.recomputeWeeks(user.getId(), dates.stream()
+                .map(WorkoutStatsServiceImpl::weekStart)
+                .collect(Collectors.toCollection(TreeSet::new)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExerciseProgressView> progress(AppUser user, LocalDate from, LocalDate to, Long exerciseId) {
+        LocalDate firstWeek = weekStart(from);
+        LocalDate lastWeek = weekStart(to);
+        if (lastWeek.isBefore(firstWeek)) {
+            throw new BadRequestException("to must not be before from");
+        }
+        if (ChronoUnit.WEEKS.between(firstWeek, lastWeek) >= MAX_WEEKS) {
+            throw new BadRequestException("Range must be at most " + MAX_WEEKS + " weeks");
+        }
+
+        // Reads only the stored weekly rows: cost follows the number of weeks, not the number of logged sets.
+        List<ExerciseWeeklyStatView> rows = exerciseId == null
+                ? statRepository.findViews(user, firstWeek, lastWeek)
+                : statRepository.findViewsByExercise(user, exerciseId, firstWeek, lastWeek);
+
+        Map<Long, List<ExerciseWeeklyStatView>> byExercise = new LinkedHashMap<>();
+        for (ExerciseWeeklyStatView row : rows) {
+            byExercise.computeIfAbsent(row.exerciseId(), id -> new ArrayList<>()).add(row);
+        }
+
+        List<ExerciseProgressView> result = new ArrayList<>(byExercise.size());
+        for (List<ExerciseWeeklyStatView> weeks : byExercise.values()) {
+            int sessions = 0;
+            BigDecimal volume = BigDecimal.ZERO;
+            BigDecimal bestWeight = null;
+            BigDecimal bestE1rm = null;
+            for (ExerciseWeeklyStatView week : weeks) {
+                sessions += week.sessionCount();
+                volume = volume.add(week.volume());
+                bestWeight = max(bestWeight, week.bestWeight());
+                bestE1rm = max(bestE1rm, week.bestE1rm());
+            }
+            ExerciseWeeklyStatView first = weeks.get(0);
+            result.add(new ExerciseProgressView(first.exerciseId(), first.exerciseName(), sessions, volume, bestWeight, bestE1rm, weeks));
+        }
+        return result;
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static BigDecimal max(BigDecimal a, BigDecimal b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -0,0 +1,30 @@
+package CalenderApp.demo.service.view;
+
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.FixedCostFrequency;
+import CalenderApp.demo.model.ImportanceLevel;
+import CalenderApp.demo.model.SchoolItemKind;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Grid representation of a calendar item: what month/range views render, without the log text or timestamps.
+ * This is what the month cache holds; {@link CalendarItemView} is the full item.
+ */
+public record CalendarItemListView(
+        Long id,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        CalendarItemType type,
+        ImportanceLevel importance,
+        String title,
+        boolean done,
+        BigDecimal amount,
+        SchoolItemKind schoolKind,
+        FixedCostFrequency fixedCostFrequency,
+        boolean hasLog
+) {
+}
@@ -0,0 +1,102 @@
+package CalenderApp.demo.service.view;
+
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.ImportanceLevel;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Per-day counters for one user and year, packed as unsigned bytes.
+ * Each day has {@link #SLOTS_PER_DAY} slots: one per {@link CalendarItemType}, then done, undone,
+ * and one per {@link ImportanceLevel}. A full year is 366 * 13 bytes (~4.7 KB), which is also
+ * the exact layout stored in Redis so it can be updated in place with BITFIELD.
+ */
+public final class CalendarYearSummary {
+
+    public static final int DAYS = 366;
+    public static final int TYPE_SLOTS = CalendarItemType.values().length;
+    public static final int DONE_SLOT = TYPE_SLOTS;
+    public static final int UNDONE_SLOT = TYPE_SLOTS + 1;
+    public static final int IMPORTANCE_SLOT = TYPE_SLOTS + 2;
+    public static final int SLOTS_PER_DAY = IMPORTANCE_SLOT + ImportanceLevel.values().length;
+    public static final int SIZE = DAYS * SLOTS_PER_DAY;
+
+    private static final int MAX_COUNT = 0xFF;
+
+    private final int year;
+    private final byte[] counts;
+
+    private CalendarYearSummary(int year, byte[] counts) {
+        this.year = year;
+        this.counts = counts;
+    }
+
+    public static CalendarYearSummary empty(int year) {
+        return new CalendarYearSummary(year, new byte[SIZE]);
+    }
+
+    public static CalendarYearSummary fromBytes(int year, byte[] raw) {
+        return new CalendarYearSummary(year, Arrays.copyOf(raw, SIZE));
+    }
+
+    public byte[] toBytes() {
+        return Arrays.copyOf(counts, SIZE);
+    }
+
+    public int year() {
+        return year;
+    }
+
+    /**
+     * Byte offsets touched by one item; the same offsets are used for Redis BITFIELD increments.
+     */
+    public static int[] offsets(LocalDate date, CalendarItemType type, ImportanceLevel importance, boolean done) {
+        int base = (date.getDayOfYear() - 1) * SLOTS_PER_DAY;
+        ImportanceLevel level = importance != null ? importance : ImportanceLevel.MEDIUM;
+        return new int[]{
+                base + type.ordinal(),
+                base + (done ? DONE_SLOT : UNDONE_SLOT),
+                base + IMPORTANCE_SLOT + level.ordinal()
+        };
+    }
+
+    public void add(LocalDate date, CalendarItemType type, ImportanceLevel importance, boolean done, long delta) {
+        for (int offset : offsets(date, type, importance, done)) {
+            long next = Math.max(0, Math.min(MAX_COUNT, unsigned(offset) + delta));
+            counts[offset] = (byte) next;
+        }
+    }
+
+    public boolean isEmpty(int dayOfYear) {
+        int base = (dayOfYear - 1) * SLOTS_PER_DAY;
+        return unsigned(base + DONE_SLOT) == 0 && unsigned(base + UNDONE_SLOT) == 0;
+    }
+
+    public int typeCount(int dayOfYear, CalendarItemType type) {
+        return unsigned((dayOfYear - 1) * SLOTS_PER_DAY + type.ordinal());
+    }
+
+    public int doneCount(int dayOfYear) {
+        return unsigned((dayOfYear - 1) * SLOTS_PER_DAY + DONE_SLOT);
+    }
+
+    public int undoneCount(int dayOfYear) {
+        return unsigned((dayOfYear - 1) * SLOTS_PER_DAY + UNDONE_SLOT);
+    }
+
+    public ImportanceLevel maxImportance(int dayOfYear) {
+        int base = (dayOfYear - 1) * SLOTS_PER_DAY + IMPORTANCE_SLOT;
+        ImportanceLevel[] levels = ImportanceLevel.values();
+        for (int i = levels.length - 1; i >= 0; i--) {
+            if (unsigned(base + i) > 0) {
+                return levels[i];
+            }
+        }
+        return null;
+    }
+
+    private int unsigned(int offset) {
+        return counts[offset] & 0xFF;
+    }
+}
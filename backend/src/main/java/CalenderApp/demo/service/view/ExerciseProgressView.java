@@ -0,0 +1,16 @@
+package CalenderApp.demo.service.view;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/** One exercise over a range of weeks: totals and bests over the range plus the weekly series (weeks without sessions omitted). */
+public record ExerciseProgressView(
+        Long exerciseId,
+        String exerciseName,
+        int sessionCount,
+        BigDecimal volume,
+        BigDecimal bestWeight,
+        BigDecimal bestE1rm,
+        List<ExerciseWeeklyStatView> weeks
+) {
+}
@@ -0,0 +1,17 @@
+package CalenderApp.demo.service.view;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ExerciseWeeklyStatView(
+        Long exerciseId,
+        String exerciseName,
+        LocalDate weekStart,
+        int sessionCount,
+        int totalSets,
+        int totalReps,
+        BigDecimal volume,
+        BigDecimal bestWeight,
+        BigDecimal bestE1rm
+) {
+}
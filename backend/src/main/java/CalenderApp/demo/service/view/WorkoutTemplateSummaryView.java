@@ -0,0 +1,12 @@
+package CalenderApp.demo.service.view;
+
+import java.time.Instant;
+
+public record WorkoutTemplateSummaryView(
+        Long id,
+        String title,
+        int entryCount,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
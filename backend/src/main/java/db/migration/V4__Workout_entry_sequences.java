@@ -0,0 +1,35 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Sequences for workout entry ids, so Hibernate can batch entry inserts (IDENTITY forces one insert per row).
+ * <p>
+ * A Java migration because each sequence has to start past the existing ids, and H2 and PostgreSQL share no
+ * SQL for "restart at max(id)". Hibernate's pooled optimizer hands out [value - 49, value] from each
+ * {@code nextval}, hence the start at max(id) + 50. The identity defaults stay in place; they are simply unused.
+ */
+public class V4__Workout_entry_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : List.of("workout_template_entries", "workout_session_entries")) {
+                long maxId;
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                    rs.next();
+                    maxId = rs.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE " + table + "_seq START WITH " + (maxId + ALLOCATION_SIZE)
+                        + " INCREMENT BY " + ALLOCATION_SIZE);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fills exercise_weekly_stats for sessions logged before V5. Week starts (ISO Monday) are computed here
+ * because H2 and PostgreSQL disagree on week truncation; the aggregate is the same statement the application
+ * runs for a single week.
+ */
+public class V6__Backfill_exercise_weekly_stats extends BaseJavaMigration {
+
+    private static final String INSERT_WEEK = """
+            INSERT INTO exercise_weekly_stats (
+                user_id, exercise_id, week_start, session_count, total_sets, total_reps, volume, best_weight, best_e1rm, updated_at
+            )
+            SELECT s.user_id, e.exercise_id, CAST(? AS DATE), COUNT(DISTINCT s.id), SUM(e.sets), SUM(e.sets * e.reps),
+                   SUM(e.sets * e.reps * COALESCE(e.weight, 0)), MAX(e.weight), ROUND(MAX(e.weight * (1 + e.reps / 30.0)), 2),
+                   CURRENT_TIMESTAMP
+            FROM workout_session_entries e
+            JOIN workout_sessions s ON s.id = e.session_id
+            JOIN calendar_items i ON i.id = s.calendar_item_id
+            WHERE s.user_id = ? AND i.date BETWEEN ? AND ?
+            GROUP BY s.user_id, e.exercise_id
+            """;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Map<String, Object[]> weeks = new LinkedHashMap<>();
+        try (PreparedStatement select = connection.prepareStatement("""
+                SELECT DISTINCT s.user_id, i.date
+                FROM workout_sessions s
+                JOIN calendar_items i ON i.id = s.calendar_item_id
+                """);
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                long userId = rs.getLong(1);
+                LocalDate weekStart = rs.getDate(2).toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                weeks.putIfAbsent(userId + ":" + weekStart, new Object[]{userId, weekStart});
+            }
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_WEEK)) {
+            for (Object[] week : weeks.values()) {
+                LocalDate weekStart = (LocalDate) week[1];
+                insert.setDate(1, Date.valueOf(weekStart));
+                insert.setLong(2, (Long) week[0]);
+                insert.setDate(3, Date.valueOf(weekStart));
+                insert.setDate(4, Date.valueOf(weekStart.plusDays(6)));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+/**
+ * Normalized exercise names: {@code name_lc} holds the trimmed, lower-cased name and is unique per user, which
+ * replaces the case-insensitive scan behind the duplicate check and serves prefix search from the index.
+ * <p>
+ * A Java migration because PostgreSQL needs the column in the "C" collation for {@code LIKE 'abc%'} to use a
+ * plain btree index (H2 has no per-column collation and always can). Existing case-insensitive duplicates,
+ * which the old check-then-insert could let through, keep their name with the id appended.
+ */
+public class V7__Exercise_name_lc extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        boolean postgres = "PostgreSQL".equals(context.getConnection().getMetaData().getDatabaseProductName());
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("ALTER TABLE exercises ADD COLUMN name_lc VARCHAR(80)" + (postgres ? " COLLATE \"C\"" : ""));
+            statement.execute("UPDATE exercises SET name_lc = LOWER(TRIM(name))");
+            statement.execute("""
+                    UPDATE exercises SET name = LEFT(name, 60) || ' #' || id
+                    WHERE EXISTS (
+                        SELECT 1 FROM exercises o WHERE o.user_id = exercises.user_id AND o.name_lc = exercises.name_lc AND o.id < exercises.id
+                    )
+                    """);
+            statement.execute("UPDATE exercises SET name_lc = LOWER(TRIM(name))");
+            statement.execute("ALTER TABLE exercises ALTER COLUMN name_lc SET NOT NULL");
+            statement.execute("CREATE UNIQUE INDEX uk_exercises_user_name_lc ON exercises (user_id, name_lc)");
+            statement.execute("DROP INDEX idx_exercises_user_name");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Intentionally empty. An earlier version removed duplicate occurrences and built the unique indexes here, under a
+ * table lock on the startup path; both now run in the background in CalendarSystemItemDeduplicator, which builds
+ * the indexes CONCURRENTLY once the table is clean. Kept so databases that already applied V9 still validate, and
+ * their indexes are simply found valid by the job.
+ */
+public class V9__Calendar_items_occurrence_unique extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) {
+    }
+}
@@ -0,0 +1,3 @@
+-- Entries were only reachable through a scan: the weekly stats recompute joins them by session_id, and loading or
+-- diffing a session reads its entries in position order. (session_id, position) serves both.
+CREATE INDEX idx_workout_session_entries_session ON workout_session_entries (session_id, position);
@@ -0,0 +1,147 @@
+-- Baseline matching the JPA entities as Hibernate created them with ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE app_users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(64) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    roles VARCHAR(128) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_app_users_username UNIQUE (username)
+);
+
+CREATE TABLE fixed_cost_subscriptions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(120) NOT NULL,
+    amount NUMERIC(12, 2) NOT NULL,
+    day_of_month INTEGER NOT NULL,
+    frequency VARCHAR(16),
+    day_of_week INTEGER,
+    month_of_year INTEGER,
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_fixed_cost_subscriptions_user FOREIGN KEY (user_id) REFERENCES app_users (id),
+    CONSTRAINT fixed_cost_subscriptions_frequency_check CHECK (frequency IN ('WEEKLY', 'MONTHLY', 'YEARLY'))
+);
+
+CREATE INDEX idx_fixed_cost_subscriptions_user_active ON fixed_cost_subscriptions (user_id, active);
+
+CREATE TABLE birthday_subscriptions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(120) NOT NULL,
+    month INTEGER NOT NULL,
+    day_of_month INTEGER NOT NULL,
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_birthday_subscriptions_user FOREIGN KEY (user_id) REFERENCES app_users (id)
+);
+
+CREATE INDEX idx_birthday_subscriptions_user_active ON birthday_subscriptions (user_id, active);
+
+CREATE TABLE calendar_items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    start_time TIME(6),
+    end_time TIME(6),
+    type VARCHAR(24) NOT NULL,
+    importance VARCHAR(16) NOT NULL,
+    title VARCHAR(120) NOT NULL,
+    log VARCHAR(2000),
+    done BOOLEAN NOT NULL,
+    amount NUMERIC(12, 2),
+    school_kind VARCHAR(16),
+    fixed_cost_subscription_id BIGINT,
+    birthday_subscription_id BIGINT,
+    notified BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_calendar_items_user FOREIGN KEY (user_id) REFERENCES app_users (id),
+    CONSTRAINT fk_calendar_items_fixed_cost_subscription FOREIGN KEY (fixed_cost_subscription_id) REFERENCES fixed_cost_subscriptions (id),
+    CONSTRAINT fk_calendar_items_birthday_subscription FOREIGN KEY (birthday_subscription_id) REFERENCES birthday_subscriptions (id),
+    CONSTRAINT calendar_items_type_check CHECK (type IN ('SCHOOL', 'WORKOUT', 'MAIN_MEAL', 'JOB', 'FIXED_COST', 'BIRTHDAY', 'OTHER')),
+    CONSTRAINT calendar_items_importance_check CHECK (importance IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    CONSTRAINT calendar_items_school_kind_check CHECK (school_kind IN ('LECTURE', 'COMPULSORY'))
+);
+
+CREATE INDEX idx_calendar_items_user_date ON calendar_items (user_id, date);
+CREATE INDEX idx_calendar_items_date ON calendar_items (date);
+
+CREATE TABLE notifications (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(24) NOT NULL,
+    importance VARCHAR(16) NOT NULL,
+    message VARCHAR(280) NOT NULL,
+    calendar_item_id BIGINT,
+    read BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES app_users (id),
+    CONSTRAINT notifications_type_check CHECK (type IN ('ITEM_CREATED', 'ITEM_UPDATED', 'ITEM_DELETED', 'UPCOMING')),
+    CONSTRAINT notifications_importance_check CHECK (importance IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL'))
+);
+
+CREATE INDEX idx_notifications_user_read ON notifications (user_id, read);
+CREATE INDEX idx_notifications_created_at ON notifications (created_at);
+
+CREATE TABLE exercises (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    name VARCHAR(80) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_exercises_user FOREIGN KEY (user_id) REFERENCES app_users (id)
+);
+
+CREATE INDEX idx_exercises_user_name ON exercises (user_id, name);
+
+CREATE TABLE workout_templates (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(80) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_workout_templates_user FOREIGN KEY (user_id) REFERENCES app_users (id)
+);
+
+CREATE INDEX idx_workout_templates_user ON workout_templates (user_id);
+
+CREATE TABLE workout_template_entries (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    template_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    sets INTEGER NOT NULL,
+    reps INTEGER NOT NULL,
+    weight NUMERIC(8, 2),
+    position INTEGER NOT NULL,
+    CONSTRAINT fk_workout_template_entries_template FOREIGN KEY (template_id) REFERENCES workout_templates (id),
+    CONSTRAINT fk_workout_template_entries_exercise FOREIGN KEY (exercise_id) REFERENCES exercises (id)
+);
+
+CREATE TABLE workout_sessions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    calendar_item_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_workout_sessions_calendar_item UNIQUE (calendar_item_id),
+    CONSTRAINT fk_workout_sessions_user FOREIGN KEY (user_id) REFERENCES app_users (id),
+    CONSTRAINT fk_workout_sessions_calendar_item FOREIGN KEY (calendar_item_id) REFERENCES calendar_items (id)
+);
+
+CREATE INDEX idx_workout_sessions_user ON workout_sessions (user_id);
+CREATE INDEX idx_workout_sessions_calendar_item ON workout_sessions (calendar_item_id);
+
+CREATE TABLE workout_session_entries (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    session_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    sets INTEGER NOT NULL,
+    reps INTEGER NOT NULL,
+    weight NUMERIC(8, 2),
+    position INTEGER NOT NULL,
+    CONSTRAINT fk_workout_session_entries_session FOREIGN KEY (session_id) REFERENCES workout_sessions (id),
+    CONSTRAINT fk_workout_session_entries_exercise FOREIGN KEY (exercise_id) REFERENCES exercises (id)
+);
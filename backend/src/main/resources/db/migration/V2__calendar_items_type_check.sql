@@ -0,0 +1,6 @@
+-- Databases created before FIXED_COST/BIRTHDAY/OTHER existed still carry the old enum CHECK
+-- (Hibernate never updates it). This used to be re-applied on every boot; it now runs once.
+-- Adding a CalendarItemType value needs a new migration that repeats these two statements.
+ALTER TABLE calendar_items DROP CONSTRAINT IF EXISTS calendar_items_type_check;
+ALTER TABLE calendar_items ADD CONSTRAINT calendar_items_type_check
+    CHECK (type IN ('SCHOOL', 'WORKOUT', 'MAIN_MEAL', 'JOB', 'FIXED_COST', 'BIRTHDAY', 'OTHER'));
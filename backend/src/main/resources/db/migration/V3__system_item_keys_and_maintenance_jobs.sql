@@ -0,0 +1,11 @@
+-- Holiday rows get a stable key so (user_id, date, system_key) can be unique without
+-- constraining user-created items. Existing rows are backfilled in the background by
+-- CalendarSystemItemDeduplicator, which also installs the unique indexes once clean.
+ALTER TABLE calendar_items ADD COLUMN system_key VARCHAR(120);
+
+-- Progress of resumable background jobs (high-water mark on the scanned table's id).
+CREATE TABLE maintenance_jobs (
+    name VARCHAR(64) PRIMARY KEY,
+    high_water_mark BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
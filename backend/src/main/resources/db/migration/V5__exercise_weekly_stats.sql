@@ -0,0 +1,21 @@
+-- Per-user, per-exercise, per-ISO-week workout aggregates. Rows are derived data: a week is recomputed
+-- from its sessions whenever one of them changes (see ExerciseWeeklyStatJdbcRepository), and V6 backfills
+-- existing sessions. best_e1rm is the Epley estimate, weight * (1 + reps / 30).
+CREATE TABLE exercise_weekly_stats (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    exercise_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,
+    session_count INTEGER NOT NULL,
+    total_sets INTEGER NOT NULL,
+    total_reps INTEGER NOT NULL,
+    volume NUMERIC(14, 2) NOT NULL,
+    best_weight NUMERIC(8, 2),
+    best_e1rm NUMERIC(10, 2),
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_exercise_weekly_stats UNIQUE (user_id, exercise_id, week_start),
+    CONSTRAINT fk_exercise_weekly_stats_user FOREIGN KEY (user_id) REFERENCES app_users (id),
+    CONSTRAINT fk_exercise_weekly_stats_exercise FOREIGN KEY (exercise_id) REFERENCES exercises (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_exercise_weekly_stats_user_week ON exercise_weekly_stats (user_id, week_start);
@@ -0,0 +1,7 @@
+-- Keyset pages of a user's templates, newest first: (user_id, updated_at, id) serves both the order and the
+-- "before cursor" predicate, and replaces the user_id-only index. Entries of a page are loaded with one
+-- template_id IN (...) query, which had no index to use.
+CREATE INDEX idx_workout_templates_user_updated ON workout_templates (user_id, updated_at, id);
+DROP INDEX idx_workout_templates_user;
+
+CREATE INDEX idx_workout_template_entries_template ON workout_template_entries (template_id, position);
@@ -0,0 +1,107 @@
+package CalenderApp.demo;
+
+import CalenderApp.demo.config.db.CalendarSystemItemDeduplicator;
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.FixedCostFrequency;
+import CalenderApp.demo.model.ImportanceLevel;
+import CalenderApp.demo.repository.AppUserRepository;
+import CalenderApp.demo.service.CalendarService;
+import CalenderApp.demo.service.command.CreateCalendarItemCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:occurrence-materialization;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.task.scheduling.enabled=false",
+        "spring.h2.console.enabled=false",
+        "app.cache.mode=local",
+        "app.events.mode=local"
+})
+class OccurrenceMaterializationTest {
+
+    private static final int READERS = 8;
+    // May 2025 has several Norwegian holidays and observances, plus the subscription's occurrence.
+    private static final YearMonth MONTH = YearMonth.of(2025, 5);
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private CalendarSystemItemDeduplicator deduplicator;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void installUniqueIndexes() {
+        // Scheduling is off in tests; run the job once so the occurrence indexes exist, as in production.
+        deduplicator.run();
+    }
+
+    @Test
+    void concurrentMonthReadsInsertEachOccurrenceOnce() throws Exception {
+        AppUser user = userRepository.save(new AppUser("materialize_" + System.nanoTime(), "hash"));
+        calendarService.create(user, new CreateCalendarItemCommand(
+                LocalDate.of(2025, 4, 10), null, null, CalendarItemType.FIXED_COST, ImportanceLevel.MEDIUM,
+                "Rent", null, false, BigDecimal.valueOf(1000), null, FixedCostFrequency.MONTHLY));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(READERS);
+        try {
+            List<Future<Integer>> reads = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                reads.add(pool.submit(() -> {
+                    start.await();
+                    return calendarService.listMonth(user, MONTH, null).size();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> read : reads) {
+                read.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Integer generated = jdbc.queryForObject("""
+                SELECT COUNT(*) FROM calendar_items
+                WHERE user_id = ? AND date BETWEEN ? AND ?
+                  AND (system_key IS NOT NULL OR fixed_cost_subscription_id IS NOT NULL)
+                """, Integer.class, user.getId(), MONTH.atDay(1), MONTH.atEndOfMonth());
+        Integer duplicated = jdbc.queryForObject("""
+                SELECT COUNT(*) FROM (
+                    SELECT date, system_key, fixed_cost_subscription_id FROM calendar_items
+                    WHERE user_id = ? AND date BETWEEN ? AND ?
+                      AND (system_key IS NOT NULL OR fixed_cost_subscription_id IS NOT NULL)
+                    GROUP BY date, system_key, fixed_cost_subscription_id
+                    HAVING COUNT(*) > 1
+                ) d
+                """, Integer.class, user.getId(), MONTH.atDay(1), MONTH.atEndOfMonth());
+
+        assertTrue(generated > 1, "expected holidays and the subscription's occurrence, got " + generated);
+        assertEquals(0, duplicated, "every occurrence must be inserted once");
+        assertEquals(generated.intValue(), calendarService.listMonth(user, MONTH, null).size(),
+                "the cached month must list each occurrence once");
+    }
+}
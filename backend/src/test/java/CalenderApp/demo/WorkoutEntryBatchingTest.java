@@ -0,0 +1,222 @@
+package CalenderApp.demo;
+
+import CalenderApp.demo.model.AppUser;
+import CalenderApp.demo.model.CalendarItem;
+import CalenderApp.demo.model.CalendarItemType;
+import CalenderApp.demo.model.Exercise;
+import CalenderApp.demo.model.WorkoutSessionEntry;
+import CalenderApp.demo.repository.AppUserRepository;
+import CalenderApp.demo.repository.CalendarItemRepository;
+import CalenderApp.demo.repository.ExerciseRepository;
+import CalenderApp.demo.service.CalendarService;
+import CalenderApp.demo.service.WorkoutService;
+import CalenderApp.demo.service.WorkoutService.EntrySpec;
+import CalenderApp.demo.service.WorkoutStatsService;
+import CalenderApp.demo.service.command.UpdateCalendarItemCommand;
+import CalenderApp.demo.service.view.ExerciseProgressView;
+import CalenderApp.demo.service.view.ExerciseWeeklyStatView;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:workout-batching;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.task.scheduling.enabled=false",
+        "spring.h2.console.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Calendar updates evict caches and publish events; keep both in-process.
+        "app.cache.mode=local",
+        "app.events.mode=local"
+})
+class WorkoutEntryBatchingTest {
+
+    @Autowired
+    private WorkoutService workoutService;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private CalendarItemRepository calendarItemRepository;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private WorkoutStatsService statsService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void savingASessionCostsTheSameStatementsForTwoOrTwentyEntries() {
+        AppUser user = userRepository.save(new AppUser("batching_" + System.currentTimeMillis(), "hash"));
+        List<Exercise> exercises = IntStream.range(0, 20)
+                .mapToObj(i -> exerciseRepository.save(new Exercise(user, "Exercise " + i)))
+                .toList();
+
+        // Warm-up: the first save also reserves the entry id block from the sequence.
+        workoutService.updateSession(user, workoutItem(user, 1).getId(), specs(exercises.subList(0, 1)));
+
+        long two = statementsFor(() -> workoutService.updateSession(user, workoutItem(user, 2).getId(), specs(exercises.subList(0, 2))));
+        long twenty = statementsFor(() -> workoutService.updateSession(user, workoutItem(user, 3).getId(), specs(exercises)));
+
+        assertEquals(two, twenty, "entry count must not change the number of statements");
+        // Calendar item, session lookup, exercises (one IN query), session insert, one batched entry insert.
+        assertTrue(twenty <= 5, "expected at most 5 statements, got " + twenty);
+    }
+
+    @Test
+    void resavingAnUnchangedSessionWritesNothing() {
+        AppUser user = newUser("unchanged");
+        List<Exercise> exercises = newExercises(user, 3);
+        Long itemId = workoutItem(user, 6).getId();
+        workoutService.updateSession(user, itemId, specs(exercises));
+        Timestamp statsUpdatedAt = statsUpdatedAt(user);
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        workoutService.updateSession(user, itemId, specs(exercises));
+
+        assertEquals(0, statistics.getEntityInsertCount() + statistics.getEntityUpdateCount() + statistics.getEntityDeleteCount());
+        assertEquals(statsUpdatedAt, statsUpdatedAt(user), "weekly stats must not be recomputed");
+    }
+
+    @Test
+    void shrinkingASessionDeletesOnlyTheTail() {
+        AppUser user = newUser("shrink");
+        List<Exercise> exercises = newExercises(user, 5);
+        Long itemId = workoutItem(user, 7).getId();
+        workoutService.updateSession(user, itemId, specs(exercises));
+
+        EntityStatistics entries = entryStatistics(() -> workoutService.updateSession(user, itemId, specs(exercises.subList(0, 3))));
+
+        assertEquals(2, entries.getDeleteCount());
+        assertEquals(0, entries.getUpdateCount(), "kept entries must not be rewritten");
+        assertEquals(0, entries.getInsertCount());
+    }
+
+    @Test
+    void patchingOneEntryUpdatesOneRow() {
+        AppUser user = newUser("patch");
+        List<Exercise> exercises = newExercises(user, 4);
+        Long itemId = workoutItem(user, 8).getId();
+        workoutService.updateSession(user, itemId, specs(exercises));
+
+        EntrySpec heavier = new EntrySpec(exercises.get(1).getId(), 3, 10, BigDecimal.valueOf(20));
+        EntityStatistics entries = entryStatistics(() -> workoutService.updateSessionEntry(user, itemId, 1, heavier));
+
+        assertEquals(1, entries.getUpdateCount());
+        assertEquals(0, entries.getInsertCount());
+        assertEquals(0, entries.getDeleteCount());
+    }
+
+    @Test
+    void movingASessionToAnotherWeekMovesItsStats() {
+        AppUser user = newUser("move");
+        Exercise exercise = newExercises(user, 1).get(0);
+        // Monday 2025-02-03; the move lands on Wednesday of the following week.
+        CalendarItem item = workoutItem(user, LocalDate.of(2025, 2, 3), true);
+        workoutService.updateSession(user, item.getId(), specs(List.of(exercise)));
+        assertEquals(List.of(LocalDate.of(2025, 2, 3)), statWeeks(user));
+
+        calendarService.update(user, item.getId(), new UpdateCalendarItemCommand(
+                LocalDate.of(2025, 2, 12), null, null, CalendarItemType.WORKOUT, item.getImportance(),
+                "Workout", null, true, null, null, null));
+
+        assertEquals(List.of(LocalDate.of(2025, 2, 10)), statWeeks(user));
+    }
+
+    @Test
+    void onlyCompletedSessionsCountTowardStats() {
+        AppUser user = newUser("done");
+        Exercise exercise = newExercises(user, 1).get(0);
+        CalendarItem item = workoutItem(user, LocalDate.of(2025, 2, 5), false);
+        workoutService.updateSession(user, item.getId(), specs(List.of(exercise)));
+        assertEquals(List.of(), statWeeks(user), "a scheduled session must not count");
+
+        calendarService.update(user, item.getId(), new UpdateCalendarItemCommand(
+                item.getDate(), null, null, CalendarItemType.WORKOUT, item.getImportance(),
+                "Workout", null, true, null, null, null));
+        assertEquals(List.of(LocalDate.of(2025, 2, 3)), statWeeks(user));
+
+        calendarService.update(user, item.getId(), new UpdateCalendarItemCommand(
+                item.getDate(), null, null, CalendarItemType.WORKOUT, item.getImportance(),
+                "Workout", null, false, null, null, null));
+        assertEquals(List.of(), statWeeks(user));
+    }
+
+    private AppUser newUser(String prefix) {
+        return userRepository.save(new AppUser(prefix + "_" + System.nanoTime(), "hash"));
+    }
+
+    private List<Exercise> newExercises(AppUser user, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> exerciseRepository.save(new Exercise(user, "Exercise " + i)))
+                .toList();
+    }
+
+    private List<LocalDate> statWeeks(AppUser user) {
+        List<ExerciseProgressView> progress = statsService.progress(user, LocalDate.of(2025, 1, 27), LocalDate.of(2025, 2, 23), null);
+        return progress.stream()
+                .flatMap(p -> p.weeks().stream())
+                .map(ExerciseWeeklyStatView::weekStart)
+                .toList();
+    }
+
+    private Timestamp statsUpdatedAt(AppUser user) {
+        return jdbc.queryForObject("SELECT MAX(updated_at) FROM exercise_weekly_stats WHERE user_id = ?", Timestamp.class, user.getId());
+    }
+
+    private CalendarItem workoutItem(AppUser user, int day) {
+        return workoutItem(user, LocalDate.of(2025, 1, day), true);
+    }
+
+    private CalendarItem workoutItem(AppUser user, LocalDate date, boolean done) {
+        CalendarItem item = new CalendarItem(user, date, CalendarItemType.WORKOUT, "Workout");
+        item.setDone(done);
+        return calendarItemRepository.save(item);
+    }
+
+    private static List<EntrySpec> specs(List<Exercise> exercises) {
+        return exercises.stream().map(ex -> new EntrySpec(ex.getId(), 3, 10, BigDecimal.TEN)).toList();
+    }
+
+    private long statementsFor(Runnable action) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private EntityStatistics entryStatistics(Runnable action) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        action.run();
+        return statistics.getEntityStatistics(WorkoutSessionEntry.class.getName());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,86 @@
+package CalenderApp.demo.config.redis;
+
+import CalenderApp.demo.config.redis.RedisCircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisCircuitBreakerTest {
+
+    private static final long OPEN_MS = 10_000;
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final RedisCircuitBreaker breaker = new RedisCircuitBreaker(3, OPEN_MS, now::get);
+
+    @Test
+    void opensAfterThresholdThenProbesAndCloses() {
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.allowRequest());
+            breaker.recordFailure();
+        }
+        assertEquals(State.CLOSED, breaker.state());
+
+        breaker.recordFailure();
+        assertEquals(State.OPEN, breaker.state());
+        assertFalse(breaker.allowRequest());
+
+        now.addAndGet(OPEN_MS - 1);
+        assertFalse(breaker.allowRequest(), "still inside the open window");
+
+        now.incrementAndGet();
+        assertTrue(breaker.allowRequest(), "the first caller after the window probes");
+        assertEquals(State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.allowRequest(), "only one probe at a time");
+
+        assertTrue(breaker.recordSuccess(), "the successful probe closes the circuit");
+        assertEquals(State.CLOSED, breaker.state());
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.recordSuccess(), "a success while closed is not a recovery");
+    }
+
+    @Test
+    void failedProbeReopensForAnotherWindow() {
+        tripOpen();
+        now.addAndGet(OPEN_MS);
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure();
+        assertEquals(State.OPEN, breaker.state());
+        assertFalse(breaker.allowRequest());
+
+        now.addAndGet(OPEN_MS);
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void ignoredOutcomeHandsTheProbeToTheNextCaller() {
+        tripOpen();
+        now.addAndGet(OPEN_MS);
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordIgnored();
+        assertEquals(State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(State.CLOSED, breaker.state());
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+        assertEquals(State.OPEN, breaker.state());
+    }
+}
@@ -5,12 +5,18 @@ import type {
   CalendarItemType,
   CalendarItemUpdateRequest,
   CalendarMonthResponse,
+  ExercisePageResponse,
   ExerciseResponse,
   NotificationResponse,
+  WorkoutEntryRequest,
+  WorkoutScheduleRequest,
+  WorkoutScheduleResponse,
   WorkoutSessionResponse,
   WorkoutSessionUpdateRequest,
+  WorkoutStatsResponse,
   WorkoutTemplateCreateRequest,
   WorkoutTemplateResponse,
+  WorkoutTemplateSummaryPageResponse,
 } from './types'
 
 const TOKEN_KEY = 'calenderapp.jwt'
@@ -115,6 +121,13 @@ export const api = {
     })
   },
 
+  async getItem(id: number): Promise<CalendarItemResponse> {
+    return request<CalendarItemResponse>(`/api/calendar/items/${id}`, {
+      method: 'GET',
+      auth: true,
+    })
+  },
+
   async createItem(payload: CalendarItemCreateRequest): Promise<CalendarItemResponse> {
     return request<CalendarItemResponse>('/api/calendar/items', {
       method: 'POST',
@@ -159,8 +172,18 @@ export const api = {
     })
   },
 
-  async listWorkoutExercises(): Promise<ExerciseResponse[]> {
-    return request<ExerciseResponse[]>('/api/workout/exercises', {
+  async listWorkoutExercisesPage(after?: string | null, limit = 50): Promise<ExercisePageResponse> {
+    const qs = new URLSearchParams({ limit: String(limit) })
+    if (after) qs.set('after', after)
+    return request<ExercisePageResponse>(`/api/workout/exercises/page?${qs.toString()}`, {
+      method: 'GET',
+      auth: true,
+    })
+  },
+
+  async searchWorkoutExercises(q: string, limit = 10): Promise<ExerciseResponse[]> {
+    const qs = new URLSearchParams({ q, limit: String(limit) })
+    return request<ExerciseResponse[]>(`/api/workout/exercises/search?${qs.toString()}`, {
       method: 'GET',
       auth: true,
     })
@@ -181,8 +204,17 @@ export const api = {
     })
   },
 
-  async listWorkoutTemplates(): Promise<WorkoutTemplateResponse[]> {
-    return request<WorkoutTemplateResponse[]>('/api/workout/templates', {
+  async listWorkoutTemplateSummaries(cursor?: string | null, limit = 20): Promise<WorkoutTemplateSummaryPageResponse> {
+    const qs = new URLSearchParams({ limit: String(limit) })
+    if (cursor) qs.set('cursor', cursor)
+    return request<WorkoutTemplateSummaryPageResponse>(`/api/workout/templates/summaries?${qs.toString()}`, {
+      method: 'GET',
+      auth: true,
+    })
+  },
+
+  async getWorkoutTemplate(id: number): Promise<WorkoutTemplateResponse> {
+    return request<WorkoutTemplateResponse>(`/api/workout/templates/${id}`, {
       method: 'GET',
       auth: true,
     })
@@ -225,6 +257,33 @@ export const api = {
       body: JSON.stringify(payload),
     })
   },
+
+  async getWorkoutStats(from?: string, to?: string, exerciseId?: number): Promise<WorkoutStatsResponse> {
+    const qs = new URLSearchParams()
+    if (from) qs.set('from', from)
+    if (to) qs.set('to', to)
+    if (exerciseId != null) qs.set('exerciseId', String(exerciseId))
+    return request<WorkoutStatsResponse>(`/api/workout/stats?${qs.toString()}`, {
+      method: 'GET',
+      auth: true,
+    })
+  },
+
+  async updateWorkoutSessionEntry(calendarItemId: number, position: number, entry: WorkoutEntryRequest): Promise<WorkoutSessionResponse> {
+    return request<WorkoutSessionResponse>(`/api/workout/sessions/${calendarItemId}/entries/${position}`, {
+      method: 'PATCH',
+      auth: true,
+      body: JSON.stringify(entry),
+    })
+  },
+
+  async scheduleWorkoutTemplate(templateId: number, req: WorkoutScheduleRequest): Promise<WorkoutScheduleResponse> {
+    return request<WorkoutScheduleResponse>(`/api/workout/templates/${templateId}/schedule`, {
+      method: 'POST',
+      auth: true,
+      body: JSON.stringify(req),
+    })
+  },
 }
 
 export function isApiError(err: unknown): err is ApiError {
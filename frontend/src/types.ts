@@ -25,10 +25,15 @@ export type CalendarItemResponse = {
   updatedAt: string
 }
 
+// Month/range rows leave out the log text; fetch the item (api.getItem) when the log itself is needed.
+export type CalendarItemListItem = Omit<CalendarItemResponse, 'log' | 'createdAt' | 'updatedAt'> & {
+  hasLog: boolean
+}
+
 export type CalendarMonthResponse = {
   year: number
   month: number
-  items: CalendarItemResponse[]
+  items: CalendarItemListItem[]
 }
 
 export type NotificationResponse = {
@@ -62,6 +67,11 @@ export type ExerciseResponse = {
   name: string
 }
 
+export type ExercisePageResponse = {
+  items: ExerciseResponse[]
+  nextAfter: string | null // pass as `after` for the next page; null on the last page
+}
+
 export type WorkoutEntryRequest = {
   exerciseId: number
   sets: number
@@ -90,6 +100,19 @@ export type WorkoutTemplateResponse = {
   updatedAt: string
 }
 
+export type WorkoutTemplateSummaryResponse = {
+  id: number
+  title: string
+  entryCount: number
+  createdAt: string
+  updatedAt: string
+}
+
+export type WorkoutTemplateSummaryPageResponse = {
+  items: WorkoutTemplateSummaryResponse[]
+  nextCursor: string | null // pass as `cursor` for the next page; null on the last page
+}
+
 export type WorkoutSessionUpdateRequest = {
   entries: WorkoutEntryRequest[]
 }
@@ -100,3 +123,47 @@ export type WorkoutSessionResponse = {
   createdAt: string
   updatedAt: string
 }
+
+export type WorkoutWeekStatResponse = {
+  weekStart: string // Monday, YYYY-MM-DD
+  sessionCount: number
+  totalSets: number
+  totalReps: number
+  volume: number
+  bestWeight: number | null
+  estimatedOneRepMax: number | null
+}
+
+export type ExerciseProgressResponse = {
+  exerciseId: number
+  exerciseName: string
+  sessionCount: number
+  volume: number
+  bestWeight: number | null
+  estimatedOneRepMax: number | null
+  weeks: WorkoutWeekStatResponse[]
+}
+
+export type WorkoutStatsResponse = {
+  from: string
+  to: string
+  exercises: ExerciseProgressResponse[]
+}
+
+export type DayOfWeek = 'MONDAY' | 'TUESDAY' | 'WEDNESDAY' | 'THURSDAY' | 'FRIDAY' | 'SATURDAY' | 'SUNDAY'
+
+export type WorkoutScheduleRequest = {
+  from: string // YYYY-MM-DD
+  to: string // YYYY-MM-DD, inclusive
+  daysOfWeek: DayOfWeek[]
+  intervalWeeks?: number // default 1
+  startTime?: string | null
+  endTime?: string | null
+  importance?: ImportanceLevel
+}
+
+export type WorkoutScheduleResponse = {
+  templateId: number
+  calendarItemIds: number[]
+  dates: string[]
+}
@@ -2,16 +2,19 @@ import { useEffect, useMemo, useRef, useState } from 'react'
 import { api, getToken, isApiError, setToken } from './api'
 import type {
   CalendarItemCreateRequest,
+  CalendarItemListItem,
   CalendarItemResponse,
   CalendarItemType,
   CalendarMonthResponse,
+  DayOfWeek,
   ExerciseResponse,
   FixedCostFrequency,
   ImportanceLevel,
   NotificationResponse,
   SchoolItemKind,
   WorkoutEntryRequest,
-  WorkoutTemplateResponse,
+  WorkoutStatsResponse,
+  WorkoutTemplateSummaryResponse,
 } from './types'
 import {
   addMonths,
@@ -64,7 +67,7 @@ function typeLine(type: CalendarItemType): string {
   return `mini-line mini-line-type-${type.toLowerCase()}`
 }
 
-function compareItems(a: CalendarItemResponse, b: CalendarItemResponse): number {
+function compareItems(a: CalendarItemListItem, b: CalendarItemListItem): number {
   const d = a.date.localeCompare(b.date)
   if (d !== 0) return d
   const t = (a.startTime ?? '').localeCompare(b.startTime ?? '')
@@ -72,19 +75,36 @@ function compareItems(a: CalendarItemResponse, b: CalendarItemResponse): number
   return a.id - b.id
 }
 
-function upsertItem(list: CalendarItemResponse[], item: CalendarItemResponse): CalendarItemResponse[] {
+function upsertItem<T extends CalendarItemListItem>(list: T[], item: T): T[] {
   const idx = list.findIndex((x) => x.id === item.id)
   const next = idx >= 0 ? list.map((x) => (x.id === item.id ? item : x)) : [...list, item]
   next.sort(compareItems)
   return next
 }
 
-function removeItem(list: CalendarItemResponse[], id: number): CalendarItemResponse[] {
+function removeItem<T extends CalendarItemListItem>(list: T[], id: number): T[] {
   const next = list.filter((x) => x.id !== id)
   next.sort(compareItems)
   return next
 }
 
+function toListItem(it: CalendarItemResponse): CalendarItemListItem {
+  return {
+    id: it.id,
+    date: it.date,
+    startTime: it.startTime,
+    endTime: it.endTime,
+    type: it.type,
+    importance: it.importance,
+    title: it.title,
+    done: it.done,
+    amount: it.amount,
+    schoolKind: it.schoolKind,
+    fixedCostFrequency: it.fixedCostFrequency,
+    hasLog: !!it.log,
+  }
+}
+
 function toNumberOrUndefined(v: string): number | undefined {
   const t = v.trim()
   if (!t) return undefined
@@ -92,6 +112,12 @@ function toNumberOrUndefined(v: string): number | undefined {
   return Number.isFinite(n) ? n : undefined
 }
 
+const DAYS_OF_WEEK: DayOfWeek[] = ['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY']
+
+function sameWorkoutEntry(a: WorkoutEntryRequest, b: WorkoutEntryRequest): boolean {
+  return a.exerciseId === b.exerciseId && a.sets === b.sets && a.reps === b.reps && (a.weight ?? null) === (b.weight ?? null)
+}
+
 export function GlassApp() {
   const [token, setTokenState] = useState<string | null>(() => getToken())
   const [toast, setToast] = useState<Toast | null>(null)
@@ -259,7 +285,9 @@ function CalendarHome({
   const [bellOpen, setBellOpen] = useState(false)
 
   const [workoutExercises, setWorkoutExercises] = useState<ExerciseResponse[]>([])
-  const [workoutTemplates, setWorkoutTemplates] = useState<WorkoutTemplateResponse[]>([])
+  const [workoutExercisesNext, setWorkoutExercisesNext] = useState<string | null>(null)
+  const [workoutTemplates, setWorkoutTemplates] = useState<WorkoutTemplateSummaryResponse[]>([])
+  const [workoutTemplatesNext, setWorkoutTemplatesNext] = useState<string | null>(null)
 
   const pendingRefreshRef = useRef(false)
 
@@ -297,15 +325,41 @@ function CalendarHome({
 
   const refreshWorkoutLibrary = async () => {
     try {
-      const [ex, templates] = await Promise.all([api.listWorkoutExercises(), api.listWorkoutTemplates()])
-      setWorkoutExercises(ex)
-      setWorkoutTemplates(templates)
+      const [ex, templates] = await Promise.all([api.listWorkoutExercisesPage(), api.listWorkoutTemplateSummaries()])
+      setWorkoutExercises(ex.items)
+      setWorkoutExercisesNext(ex.nextAfter)
+      setWorkoutTemplates(templates.items)
+      setWorkoutTemplatesNext(templates.nextCursor)
     } catch (e) {
       if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
       // keep quiet unless user is actively using workout features
     }
   }
 
+  const loadMoreWorkoutTemplates = async () => {
+    if (!workoutTemplatesNext) return
+    try {
+      const page = await api.listWorkoutTemplateSummaries(workoutTemplatesNext)
+      setWorkoutTemplates((prev) => [...prev, ...page.items])
+      setWorkoutTemplatesNext(page.nextCursor)
+    } catch (e) {
+      if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
+      onToast({ kind: 'error', message: 'Failed loading templates.' })
+    }
+  }
+
+  const loadMoreWorkoutExercises = async () => {
+    if (!workoutExercisesNext) return
+    try {
+      const page = await api.listWorkoutExercisesPage(workoutExercisesNext)
+      setWorkoutExercises((prev) => [...prev, ...page.items])
+      setWorkoutExercisesNext(page.nextAfter)
+    } catch (e) {
+      if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
+      onToast({ kind: 'error', message: 'Failed loading exercises.' })
+    }
+  }
+
   useEffect(() => {
     void refreshMonth()
     void refreshNotifications()
@@ -365,7 +419,7 @@ function CalendarHome({
   })
 
   const monthItemsByDate = useMemo(() => {
-    const map = new Map<string, CalendarItemResponse[]>()
+    const map = new Map<string, CalendarItemListItem[]>()
     const items = monthData?.items ?? []
     for (const it of items) {
       const arr = map.get(it.date) ?? []
@@ -461,7 +515,7 @@ function CalendarHome({
   }, [viewMode, weekGrid, weekMonths, typeFilter, onTokenInvalid])
 
   const weekItemsByDate = useMemo(() => {
-    const map = new Map<string, CalendarItemResponse[]>()
+    const map = new Map<string, CalendarItemListItem[]>()
     for (const month of Object.values(weekMonths)) {
       for (const it of month.items ?? []) {
         const arr = map.get(it.date) ?? []
@@ -475,9 +529,10 @@ function CalendarHome({
     return map
   }, [weekMonths])
 
-  const matchesFilter = (it: CalendarItemResponse) => (typeFilter ? it.type === typeFilter : true)
+  const matchesFilter = (it: CalendarItemListItem) => (typeFilter ? it.type === typeFilter : true)
 
   const applyUpdatedItem = (it: CalendarItemResponse) => {
+    const listItem = toListItem(it)
     if (it.date === selectedDate) {
       setDayItems((prev) => {
         const list = prev ?? []
@@ -489,7 +544,7 @@ function CalendarHome({
       if (!prev) return prev
       const monthPrefix = `${prev.year}-${pad2(prev.month)}`
       if (!it.date.startsWith(monthPrefix)) return prev
-      const nextItems = matchesFilter(it) ? upsertItem(prev.items ?? [], it) : removeItem(prev.items ?? [], it.id)
+      const nextItems = matchesFilter(it) ? upsertItem(prev.items ?? [], listItem) : removeItem(prev.items ?? [], it.id)
       return { ...prev, items: nextItems }
     })
 
@@ -497,7 +552,7 @@ function CalendarHome({
       const key = it.date.slice(0, 7)
       const month = prev[key]
       if (!month) return prev
-      const nextItems = matchesFilter(it) ? upsertItem(month.items ?? [], it) : removeItem(month.items ?? [], it.id)
+      const nextItems = matchesFilter(it) ? upsertItem(month.items ?? [], listItem) : removeItem(month.items ?? [], it.id)
       return { ...prev, [key]: { ...month, items: nextItems } }
     })
   }
@@ -846,8 +901,16 @@ function CalendarHome({
           onToast={onToast}
           onTokenInvalid={onTokenInvalid}
           workoutExercises={workoutExercises}
+          hasMoreWorkoutExercises={workoutExercisesNext !== null}
+          loadMoreWorkoutExercises={loadMoreWorkoutExercises}
           workoutTemplates={workoutTemplates}
+          hasMoreWorkoutTemplates={workoutTemplatesNext !== null}
+          loadMoreWorkoutTemplates={loadMoreWorkoutTemplates}
           refreshWorkoutLibrary={refreshWorkoutLibrary}
+          onScheduled={() => {
+            void refreshMonth()
+            void refreshDay(selectedDate)
+          }}
         />
       </section>
       </div>
@@ -866,8 +929,13 @@ function DayEditor({
   onToast,
   onTokenInvalid,
   workoutExercises,
+  hasMoreWorkoutExercises,
+  loadMoreWorkoutExercises,
   workoutTemplates,
+  hasMoreWorkoutTemplates,
+  loadMoreWorkoutTemplates,
   refreshWorkoutLibrary,
+  onScheduled,
 }: {
   dateIso: string
   items: CalendarItemResponse[]
@@ -879,8 +947,13 @@ function DayEditor({
   onToast: (t: Toast) => void
   onTokenInvalid: () => void
   workoutExercises: ExerciseResponse[]
-  workoutTemplates: WorkoutTemplateResponse[]
+  hasMoreWorkoutExercises: boolean
+  loadMoreWorkoutExercises: () => Promise<void>
+  workoutTemplates: WorkoutTemplateSummaryResponse[]
+  hasMoreWorkoutTemplates: boolean
+  loadMoreWorkoutTemplates: () => Promise<void>
   refreshWorkoutLibrary: () => Promise<void>
+  onScheduled: () => void
 }) {
   const [editingId, setEditingId] = useState<number | null>(null)
   const [type, setType] = useState<CalendarItemType>(defaultType)
@@ -897,11 +970,16 @@ function DayEditor({
   const [itemSearch, setItemSearch] = useState('')
 
   const [workoutEntries, setWorkoutEntries] = useState<
-    Array<{ exerciseId: string; sets: string; reps: string; weight: string }>
+    Array<{ exerciseId: string; exerciseName?: string; sets: string; reps: string; weight: string }>
   >([])
+  // Entries as last loaded from the server for the item being edited; lets a save send only what changed.
+  const [loadedWorkoutEntries, setLoadedWorkoutEntries] = useState<WorkoutEntryRequest[] | null>(null)
   const [workoutTemplatePick, setWorkoutTemplatePick] = useState<string>('')
   const [newExerciseName, setNewExerciseName] = useState('')
   const [newTemplateTitle, setNewTemplateTitle] = useState('')
+  const [workoutStats, setWorkoutStats] = useState<WorkoutStatsResponse | null>(null)
+  const [scheduleWeeks, setScheduleWeeks] = useState('4')
+  const [exerciseMatches, setExerciseMatches] = useState<ExerciseResponse[] | null>(null)
 
   useEffect(() => {
     setEditingId(null)
@@ -916,6 +994,7 @@ function DayEditor({
     setAmount('')
     setFixedCostFrequency('MONTHLY')
     setWorkoutEntries([])
+    setLoadedWorkoutEntries(null)
     setWorkoutTemplatePick('')
     setItemSearch('')
   }, [dateIso, defaultType])
@@ -933,11 +1012,22 @@ function DayEditor({
   const isHolidayItem = (it: CalendarItemResponse) =>
     it.type === 'OTHER' && (it.title.startsWith('Merkedag:') || it.title.startsWith('Helligdag:'))
 
-  const selectForEdit = (it: CalendarItemResponse) => {
-    if (isHolidayItem(it)) {
+  const selectForEdit = async (listed: CalendarItemResponse) => {
+    if (isHolidayItem(listed)) {
       onToast({ kind: 'info', message: 'Merkedager/helligdager kan ikke endres.' })
       return
     }
+    // Edit the server's current copy; the day list may predate a change made in another tab.
+    let it = listed
+    try {
+      it = await api.getItem(listed.id)
+    } catch (e) {
+      if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
+      if (isApiError(e) && e.status === 404) {
+        onToast({ kind: 'error', message: 'This item no longer exists.' })
+        return
+      }
+    }
     setEditingId(it.id)
     setType(it.type)
     setSchoolKind(it.schoolKind ?? 'LECTURE')
@@ -958,11 +1048,20 @@ function DayEditor({
           setWorkoutEntries(
             session.entries.map((e) => ({
               exerciseId: String(e.exerciseId),
+              exerciseName: e.exerciseName,
               sets: String(e.sets),
               reps: String(e.reps),
               weight: e.weight != null ? String(e.weight) : '',
             })),
           )
+          setLoadedWorkoutEntries(
+            session.entries.map((e) => ({
+              exerciseId: e.exerciseId,
+              sets: e.sets,
+              reps: e.reps,
+              ...(e.weight != null ? { weight: e.weight } : {}),
+            })),
+          )
         } catch (e) {
           if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
           onToast({ kind: 'error', message: isApiError(e) ? e.message : 'Failed loading workout session.' })
@@ -970,6 +1069,7 @@ function DayEditor({
       })()
     } else {
       setWorkoutEntries([])
+      setLoadedWorkoutEntries(null)
       setWorkoutTemplatePick('')
     }
   }
@@ -987,6 +1087,7 @@ function DayEditor({
     setAmount('')
     setFixedCostFrequency('MONTHLY')
     setWorkoutEntries([])
+    setLoadedWorkoutEntries(null)
     setWorkoutTemplatePick('')
   }
 
@@ -1011,32 +1112,98 @@ function DayEditor({
     if (type === 'WORKOUT') void refreshWorkoutLibrary()
   }, [type])
 
-  const applyTemplate = (templateId: string) => {
+  // Last 12 weeks (the endpoint's default range), read from the precomputed weekly rows.
+  const refreshWorkoutStats = async () => {
+    try {
+      setWorkoutStats(await api.getWorkoutStats())
+    } catch (e) {
+      if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
+      // stats are secondary; keep the last ones shown
+    }
+  }
+
+  useEffect(() => {
+    if (isWorkoutTab) void refreshWorkoutStats()
+  }, [isWorkoutTab])
+
+  // Typing in the add box narrows the library through the server-side search, so an existing exercise is
+  // found even when it is not on a loaded page, before a duplicate gets added.
+  useEffect(() => {
+    const q = newExerciseName.trim()
+    if (!q || !isWorkoutTab) {
+      setExerciseMatches(null)
+      return
+    }
+    let cancelled = false
+    const timer = setTimeout(async () => {
+      try {
+        const found = await api.searchWorkoutExercises(q)
+        if (!cancelled) setExerciseMatches(found)
+      } catch (e) {
+        if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
+      }
+    }, 200)
+    return () => {
+      cancelled = true
+      clearTimeout(timer)
+    }
+  }, [newExerciseName, isWorkoutTab])
+
+  // The library only holds summaries; entries are fetched when a template is applied.
+  const applyTemplate = async (templateId: string) => {
     setWorkoutTemplatePick(templateId)
     const idNum = Number(templateId)
-    if (!Number.isFinite(idNum)) return
-    const tpl = workoutTemplates.find((t) => t.id === idNum)
-    if (!tpl) return
-    setWorkoutEntries(
-      tpl.entries.map((e) => ({
-        exerciseId: String(e.exerciseId),
-        sets: String(e.sets),
-        reps: String(e.reps),
-        weight: e.weight != null ? String(e.weight) : '',
-      })),
-    )
+    if (!templateId || !Number.isFinite(idNum)) return
+    try {
+      const tpl = await api.getWorkoutTemplate(idNum)
+      setWorkoutEntries(
+        tpl.entries.map((e) => ({
+          exerciseId: String(e.exerciseId),
+          exerciseName: e.exerciseName,
+          sets: String(e.sets),
+          reps: String(e.reps),
+          weight: e.weight != null ? String(e.weight) : '',
+        })),
+      )
+    } catch (e) {
+      if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
+      onToast({ kind: 'error', message: isApiError(e) ? e.message : 'Failed loading template.' })
+    }
+  }
+
+  // Repeats a template on this day's weekday for the chosen number of weeks, as one server-side batch.
+  const scheduleTemplate = async (templateId: number) => {
+    const weeks = Number(scheduleWeeks)
+    if (!Number.isInteger(weeks) || weeks < 1) {
+      onToast({ kind: 'error', message: 'Enter a number of weeks.' })
+      return
+    }
+    const start = fromIsoDate(dateIso)
+    const end = new Date(start.getFullYear(), start.getMonth(), start.getDate() + weeks * 7 - 1)
+    try {
+      const res = await api.scheduleWorkoutTemplate(templateId, {
+        from: dateIso,
+        to: toIsoDate(end),
+        daysOfWeek: [DAYS_OF_WEEK[weekdayIndexMondayFirst(start)]],
+      })
+      onToast({ kind: 'info', message: `Scheduled ${res.calendarItemIds.length} workouts.` })
+      onScheduled()
+    } catch (e) {
+      if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
+      onToast({ kind: 'error', message: isApiError(e) ? e.message : 'Failed scheduling template.' })
+    }
   }
 
   const addWorkoutRow = () => {
     setWorkoutEntries((prev) => [...prev, { exerciseId: '', sets: '3', reps: '10', weight: '' }])
   }
 
-  const addExerciseToWorkout = (exerciseId: number) => {
-    const id = String(exerciseId)
+  const addExerciseToWorkout = (exercise: ExerciseResponse) => {
+    const id = String(exercise.id)
     setWorkoutEntries((prev) => {
       // Avoid duplicates when building templates quickly.
       if (prev.some((r) => r.exerciseId === id)) return prev
-      return [...prev, { exerciseId: id, sets: '3', reps: '10', weight: '' }]
+      return [...prev, { exerciseId: id, exerciseName: exercise.name, sets: '3', reps: '10', weight: '' }]
     })
   }
 
@@ -1066,6 +1233,21 @@ function DayEditor({
       .filter(Boolean) as WorkoutEntryRequest[]
   }
 
+  // An unchanged session is not re-sent, and a single edited row goes out as a one-entry PATCH.
+  const saveWorkoutEntries = async (calendarItemId: number) => {
+    const entries = toWorkoutRequestEntries()
+    const loaded = editingId === calendarItemId ? loadedWorkoutEntries : null
+    if (loaded && loaded.length === entries.length) {
+      const changed = entries.flatMap((e, i) => (sameWorkoutEntry(e, loaded[i]) ? [] : [i]))
+      if (changed.length === 0) return
+      if (changed.length === 1) {
+        await api.updateWorkoutSessionEntry(calendarItemId, changed[0], entries[changed[0]])
+        return
+      }
+    }
+    await api.updateWorkoutSession(calendarItemId, { entries })
+  }
+
   const submit = async () => {
     if (!title.trim()) return
 
@@ -1090,8 +1272,8 @@ function DayEditor({
 
       if (saved.type === 'WORKOUT') {
         try {
-          const entries = toWorkoutRequestEntries()
-          await api.updateWorkoutSession(saved.id, { entries })
+          await saveWorkoutEntries(saved.id)
+          if (isWorkoutTab) void refreshWorkoutStats()
         } catch (e) {
           if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
           onToast({ kind: 'error', message: isApiError(e) ? e.message : 'Failed saving workout session.' })
@@ -1119,7 +1301,7 @@ function DayEditor({
                 <input
                   value={newExerciseName}
                   onChange={(e) => setNewExerciseName(e.target.value)}
-                  placeholder="Add exercise…"
+                  placeholder="Add or find exercise…"
                 />
                 <button
                   className="btn"
@@ -1140,13 +1322,14 @@ function DayEditor({
                   Add
                 </button>
               </div>
+              {exerciseMatches && exerciseMatches.length === 0 ? <div className="muted">No matching exercises.</div> : null}
               <div className="workout-lib-list">
-                {workoutExercises.map((ex) => (
+                {(exerciseMatches ?? workoutExercises).map((ex) => (
                   <div key={ex.id} className="workout-lib-item">
                     <button
                       className="btn btn-ghost"
                       type="button"
-                      onClick={() => addExerciseToWorkout(ex.id)}
+                      onClick={() => addExerciseToWorkout(ex)}
                       title="Add to workout/template"
                     >
                       {ex.name}
@@ -1155,7 +1338,7 @@ function DayEditor({
                       <button
                         className="icon-btn"
                         type="button"
-                        onClick={() => addExerciseToWorkout(ex.id)}
+                        onClick={() => addExerciseToWorkout(ex)}
                         aria-label="Add exercise to workout/template"
                         title="Add"
                       >
@@ -1182,6 +1365,30 @@ function DayEditor({
                   </div>
                 ))}
               </div>
+              {!exerciseMatches && hasMoreWorkoutExercises ? (
+                <button className="btn btn-ghost" type="button" onClick={() => void loadMoreWorkoutExercises()}>
+                  More exercises
+                </button>
+              ) : null}
+            </div>
+
+            <div className="workout-lib-block">
+              <div className="workout-lib-sub">Progress, last 12 weeks</div>
+              {workoutStats && workoutStats.exercises.length === 0 ? (
+                <div className="muted">No logged sessions in this period.</div>
+              ) : null}
+              <div className="workout-lib-list">
+                {(workoutStats?.exercises ?? []).map((ex) => (
+                  <div key={ex.exerciseId} className="workout-lib-item">
+                    <span>{ex.exerciseName}</span>
+                    <span className="muted">
+                      {ex.sessionCount} sessions · volume {Math.round(ex.volume)}
+                      {ex.bestWeight != null ? ` · best ${ex.bestWeight}` : ''}
+                      {ex.estimatedOneRepMax != null ? ` · e1RM ${ex.estimatedOneRepMax}` : ''}
+                    </span>
+                  </div>
+                ))}
+              </div>
             </div>
 
             <div className="workout-lib-block">
@@ -1216,31 +1423,57 @@ function DayEditor({
                   Save
                 </button>
               </div>
+              <div className="workout-lib-row">
+                <input
+                  value={scheduleWeeks}
+                  onChange={(e) => setScheduleWeeks(e.target.value)}
+                  placeholder="Weeks"
+                  inputMode="numeric"
+                  aria-label="Weeks to schedule"
+                />
+                <span className="muted">weeks, weekly from this day</span>
+              </div>
               <div className="workout-lib-list">
                 {workoutTemplates.map((t) => (
                   <div key={t.id} className="workout-lib-item">
-                    <button className="btn btn-ghost" type="button" onClick={() => applyTemplate(String(t.id))}>
+                    <button className="btn btn-ghost" type="button" onClick={() => void applyTemplate(String(t.id))}>
                       {t.title}
                     </button>
-                    <button
-                      className="icon-btn icon-btn-danger"
-                      type="button"
-                      onClick={async () => {
-                        try {
-                          await api.deleteWorkoutTemplate(t.id)
-                          await refreshWorkoutLibrary()
-                        } catch (e) {
-                          if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
-                          onToast({ kind: 'error', message: isApiError(e) ? e.message : 'Failed deleting template.' })
-                        }
-                      }}
-                      aria-label="Delete template"
-                    >
-                      ✕
-                    </button>
+                    <div className="workout-lib-actions">
+                      <button
+                        className="icon-btn"
+                        type="button"
+                        onClick={() => void scheduleTemplate(t.id)}
+                        aria-label="Schedule template weekly"
+                        title="Schedule weekly"
+                      >
+                        ↻
+                      </button>
+                      <button
+                        className="icon-btn icon-btn-danger"
+                        type="button"
+                        onClick={async () => {
+                          try {
+                            await api.deleteWorkoutTemplate(t.id)
+                            await refreshWorkoutLibrary()
+                          } catch (e) {
+                            if (isApiError(e) && (e.status === 401 || e.status === 403)) return onTokenInvalid()
+                            onToast({ kind: 'error', message: isApiError(e) ? e.message : 'Failed deleting template.' })
+                          }
+                        }}
+                        aria-label="Delete template"
+                      >
+                        ✕
+                      </button>
+                    </div>
                   </div>
                 ))}
               </div>
+              {hasMoreWorkoutTemplates ? (
+                <button className="btn btn-ghost" type="button" onClick={() => void loadMoreWorkoutTemplates()}>
+                  More templates
+                </button>
+              ) : null}
             </div>
           </div>
         ) : null}
@@ -1256,7 +1489,7 @@ function DayEditor({
         <div className="list-scroll">
           {filteredItems.map((it) => (
             <div key={it.id} className="item-row">
-              <button className="item-main" onClick={() => selectForEdit(it)} type="button">
+              <button className="item-main" onClick={() => void selectForEdit(it)} type="button">
                 <div className="item-top">
                   <input
                     className="done-box"
@@ -1428,7 +1661,7 @@ function DayEditor({
               <div className="workout-actions">
                 <select
                   value={workoutTemplatePick}
-                  onChange={(e) => applyTemplate(e.target.value)}
+                  onChange={(e) => void applyTemplate(e.target.value)}
                   aria-label="Apply template"
                 >
                   <option value="">Apply template…</option>
@@ -1453,6 +1686,10 @@ function DayEditor({
                       aria-label="Exercise"
                     >
                       <option value="">Exercise…</option>
+                      {row.exerciseId && !workoutExercises.some((ex) => String(ex.id) === row.exerciseId) ? (
+                        // Not on a loaded page yet; keep the name the session or template came with.
+                        <option value={row.exerciseId}>{row.exerciseName ?? `Exercise ${row.exerciseId}`}</option>
+                      ) : null}
                       {workoutExercises.map((ex) => (
                         <option key={ex.id} value={String(ex.id)}>
                           {ex.name}